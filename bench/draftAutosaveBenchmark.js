@@ -0,0 +1,76 @@
+// Input latency with and without draft autosave.
+//
+// Start an interview, then paste this file into the browser console. It types
+// the same text into the answer textarea twice, first with autosave paused
+// (window.__draftAutosave.pause()) and then running, at a steady typing pace
+// so idle periods occur between keystrokes as they do for a real typist. For
+// each run it reports the time spent handling the input event and the time
+// until the next frame, plus the autosave writes made during the run.
+//
+// Expected result: the two runs' latency percentiles match within noise and
+// writes stay at or under one per 2 s, each outside any input handler. The
+// draft.write_ms series in window.__metrics shows the cost of each write.
+(async function draftAutosaveBenchmark(keystrokes = 400, intervalMs = 60) {
+  const textarea = document.querySelector('textarea');
+  const autosave = window.__draftAutosave;
+  if (!textarea || !autosave) {
+    console.error('Start an interview first - no answer textarea or autosave found.');
+    return;
+  }
+
+  const setValue = Object.getOwnPropertyDescriptor(HTMLTextAreaElement.prototype, 'value').set;
+  const nextFrame = () => new Promise(resolve => requestAnimationFrame(() => setTimeout(resolve, 0)));
+  const sleep = ms => new Promise(resolve => setTimeout(resolve, ms));
+  const percentile = (values, p) => {
+    const sorted = [...values].sort((a, b) => a - b);
+    return +sorted[Math.min(sorted.length - 1, Math.floor(p * sorted.length))].toFixed(3);
+  };
+  const text = 'The quick brown fox jumps over the lazy dog. ';
+
+  const type = async () => {
+    setValue.call(textarea, '');
+    textarea.dispatchEvent(new Event('input', { bubbles: true }));
+    await sleep(500);
+
+    const writesBefore = autosave.stats.writes;
+    const handlerTimes = [];
+    const frameTimes = [];
+    const started = performance.now();
+    for (let i = 0; i < keystrokes; i++) {
+      const start = performance.now();
+      setValue.call(textarea, textarea.value + text[i % text.length]);
+      textarea.dispatchEvent(new Event('input', { bubbles: true }));
+      handlerTimes.push(performance.now() - start);
+      await nextFrame();
+      frameTimes.push(performance.now() - start);
+      await sleep(Math.max(0, intervalMs - (performance.now() - start)));
+    }
+    const seconds = (performance.now() - started) / 1000;
+    return {
+      inputHandlerMs: { p50: percentile(handlerTimes, 0.5), p95: percentile(handlerTimes, 0.95), max: percentile(handlerTimes, 1) },
+      nextFrameMs: { p50: percentile(frameTimes, 0.5), p95: percentile(frameTimes, 0.95), max: percentile(frameTimes, 1) },
+      writes: autosave.stats.writes - writesBefore,
+      writesPerSecond: +((autosave.stats.writes - writesBefore) / seconds).toFixed(2)
+    };
+  };
+
+  autosave.pause();
+  const off = await type();
+  autosave.resume();
+  const on = await type();
+
+  const report = {
+    keystrokes,
+    intervalMs,
+    autosaveOff: off,
+    autosaveOn: on,
+    addedLatencyMs: {
+      inputHandlerP95: +(on.inputHandlerMs.p95 - off.inputHandlerMs.p95).toFixed(3),
+      nextFrameP95: +(on.nextFrameMs.p95 - off.nextFrameMs.p95).toFixed(3)
+    },
+    totals: { ...autosave.stats },
+    writeMs: window.__metrics?.snapshot().series['draft.write_ms'] || null
+  };
+  console.log(JSON.stringify(report, null, 2));
+  return report;
+})();
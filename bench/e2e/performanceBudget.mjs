@@ -0,0 +1,300 @@
+#!/usr/bin/env node
+// Performance budget suite: drives complete interviews through the real UI
+// in headless Chromium and checks their timings against bench/e2e/budgets.json.
+//
+//   APP_URL=http://localhost:5173 node bench/e2e/performanceBudget.mjs
+//
+// APP_URL is a page rendering MockInterviewApp (Mycode.java), as served by the
+// host bundle. The suite gives the page what the host would: window.storage,
+// backed by localStorage when the host has none, and window.AIIC_CONFIG. It
+// answers every Messages API call itself with the mock upstream's canned
+// responses (server/mockUpstream.mjs) after a fixed llmLatencyMs, so runs
+// differ only by the app's own work.
+//
+// Measured in each run, with a fresh browser context and a new user:
+//   timeToInteractiveMs        navigation start to a usable login form
+//   setupToFirstQuestionMs     "Start Interview" click to the first question on screen
+//   submitToNextQuestionP95Ms  "Submit Answer" click to the next question, p95 of nine
+//   inputLatencyP95Ms          keystroke to the next frame while typing the long
+//                              first answer (answerWords words), p95
+//   resultsRenderMs            last "Submit Answer" click to the results screen
+// Times are taken in the page: from the click event's timestamp to the first
+// animation frame showing the result. Each metric is the median over runs; any
+// median over budget fails the suite (exit code 1). Every suite run is
+// appended to the trend file and compared with the previous one and with the
+// median of the last TREND_WINDOW.
+//
+// Settings (environment variables):
+//   RUNS=3               interviews per suite run
+//   ANSWER_WORDS         words in the long answer (default from budgets.json)
+//   TREND_FILE=bench/e2e/results/trend.ndjson
+//   HEADED=1             show the browser
+//
+// Needs Playwright: npm i -D playwright && npx playwright install chromium
+import { readFileSync, appendFileSync, mkdirSync, existsSync } from 'node:fs';
+import { dirname, join } from 'node:path';
+import { fileURLToPath } from 'node:url';
+import { execSync } from 'node:child_process';
+import { mockMessage } from '../../server/mockUpstream.mjs';
+
+const here = dirname(fileURLToPath(import.meta.url));
+const env = (name, fallback) => process.env[name] ?? fallback;
+const { llmLatencyMs, answerWords, budgets } = JSON.parse(readFileSync(join(here, 'budgets.json'), 'utf8'));
+const APP_URL = env('APP_URL', null);
+const RUNS = Number(env('RUNS', 3));
+const ANSWER_WORDS = Number(env('ANSWER_WORDS', answerWords));
+const TREND_FILE = env('TREND_FILE', join(here, 'results', 'trend.ndjson'));
+const TREND_WINDOW = 10;
+const QUESTIONS = 10;
+const STUB_URL = 'http://llm-stub.invalid/v1/messages';
+const TIMEOUT_MS = 30000;
+
+const SHORT_ANSWER = 'In my last role I led the migration of our reporting pipeline to a new platform. '
+  + 'I planned it in stages, agreed the order with two teams, measured error rates before and after, '
+  + 'and cut the nightly run from four hours to forty minutes while keeping every report on schedule.';
+
+const percentile = (values, p) => {
+  const sorted = [...values].sort((a, b) => a - b);
+  return sorted[Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+};
+const median = values => percentile(values, 0.5);
+const round = value => Math.round(value * 10) / 10;
+
+// Runs in the page before any app code
+const initPage = ({ stubUrl }) => {
+  if (!window.storage) {
+    const prefix = 'e2e-storage:';
+    window.storage = {
+      async get(key, shared) {
+        const value = localStorage.getItem(`${prefix}${shared ? 'shared:' : ''}${key}`);
+        return value === null ? null : { key, value, shared: Boolean(shared) };
+      },
+      async set(key, value, shared) {
+        localStorage.setItem(`${prefix}${shared ? 'shared:' : ''}${key}`, value);
+        return { key, value, shared: Boolean(shared) };
+      },
+      async delete(key, shared) {
+        localStorage.removeItem(`${prefix}${shared ? 'shared:' : ''}${key}`);
+        return { key, deleted: true, shared: Boolean(shared) };
+      }
+    };
+  }
+  window.AIIC_CONFIG = { ...window.AIIC_CONFIG, llmGatewayUrl: stubUrl, serviceWorkerUrl: null, telemetryUrl: null };
+  document.addEventListener('click', (event) => {
+    window.__e2eLastClick = event.timeStamp;
+  }, true);
+};
+
+const corsHeaders = {
+  'Access-Control-Allow-Origin': '*',
+  'Access-Control-Allow-Methods': 'POST, OPTIONS',
+  'Access-Control-Allow-Headers': '*'
+};
+
+// Every Messages API call, to the stub URL or the real API, gets a canned
+// response after the same fixed delay
+const stubLlm = async (context) => {
+  let requests = 0;
+  await context.route(url => url.pathname.endsWith('/v1/messages'), async (route) => {
+    const request = route.request();
+    if (request.method() === 'OPTIONS') {
+      await route.fulfill({ status: 204, headers: corsHeaders });
+      return;
+    }
+    requests += 1;
+    const body = request.postDataJSON() || {};
+    await new Promise(resolve => setTimeout(resolve, llmLatencyMs));
+    await route.fulfill({
+      status: 200,
+      headers: { ...corsHeaders, 'Content-Type': 'application/json' },
+      body: JSON.stringify(mockMessage(body, requests))
+    });
+  });
+  return () => requests;
+};
+
+// The page conditions below return performance.now() once they hold, so
+// frameWhen resolves to the time of the first animation frame showing them
+const frameWhen = async (page, condition, arg) => {
+  const handle = await page.waitForFunction(condition, arg, { polling: 'raf', timeout: TIMEOUT_MS });
+  return handle.jsonValue();
+};
+
+const lastClick = page => page.evaluate(() => window.__e2eLastClick);
+
+const loginFormUsable = () => {
+  const input = document.querySelector('input[type="email"]');
+  return Boolean(input && !input.disabled && input.offsetParent) && performance.now();
+};
+
+const questionShown = (number) => {
+  const counter = [...document.querySelectorAll('span')].find(el => el.textContent.startsWith('Question '));
+  return Boolean(counter && counter.textContent.startsWith(`Question ${number} of`)) && performance.now();
+};
+
+const resultsShown = () => (
+  [...document.querySelectorAll('h2')].some(el => el.textContent.includes('Interview Complete!')) && performance.now()
+);
+
+// Types words into the focused answer box with real key events; resolves to
+// the keystroke latencies, measured from each input event to the next frame
+const typeLongAnswer = async (page, words) => {
+  await page.locator('textarea').click();
+  await page.evaluate(() => {
+    window.__e2eInputLatency = [];
+    document.querySelector('textarea').addEventListener('input', (event) => {
+      const start = event.timeStamp;
+      requestAnimationFrame(() => setTimeout(() => window.__e2eInputLatency.push(performance.now() - start), 0));
+    });
+  });
+  const sentence = SHORT_ANSWER.split(' ');
+  const chunk = 50;
+  for (let i = 0; i < words; i += chunk) {
+    const text = Array.from({ length: Math.min(chunk, words - i) }, (_, j) => sentence[(i + j) % sentence.length]).join(' ');
+    await page.keyboard.type(`${text} `);
+  }
+  // Let the last frames land
+  await page.evaluate(() => new Promise(resolve => requestAnimationFrame(() => setTimeout(resolve, 50))));
+  return page.evaluate(() => window.__e2eInputLatency);
+};
+
+const runInterview = async (browser, run) => {
+  const context = await browser.newContext();
+  await context.addInitScript(initPage, { stubUrl: STUB_URL });
+  const llmRequests = await stubLlm(context);
+  const page = await context.newPage();
+  page.on('dialog', dialog => dialog.dismiss());
+  page.on('pageerror', error => console.error(`  page error: ${error.message}`));
+
+  try {
+    await page.goto(APP_URL);
+    const timeToInteractive = await frameWhen(page, loginFormUsable);
+
+    await page.getByRole('button', { name: 'Sign up', exact: true }).click();
+    await page.getByPlaceholder('John Doe').fill('Budget Runner');
+    await page.getByPlaceholder('your.email@example.com').fill(`budget-runner-${run}@example.com`);
+    await page.getByPlaceholder('At least 6 characters').fill('budget-password');
+    await page.getByPlaceholder('Re-enter your password').fill('budget-password');
+    await page.getByRole('button', { name: 'Sign Up', exact: true }).click();
+
+    await page.getByPlaceholder(/^e\.g\., Software Engineer/).fill('Software Engineer');
+    await page.getByRole('button', { name: 'Start Interview' }).click();
+    const setupToFirstQuestion = (await frameWhen(page, questionShown, 1)) - (await lastClick(page));
+
+    let inputLatency = [];
+    const submitToNext = [];
+    let resultsRender = null;
+    for (let number = 1; number <= QUESTIONS; number++) {
+      if (number === 1) inputLatency = await typeLongAnswer(page, ANSWER_WORDS);
+      else await page.locator('textarea').fill(SHORT_ANSWER);
+      await page.getByRole('button', { name: 'Submit Answer & Continue' }).click();
+      if (number < QUESTIONS) {
+        submitToNext.push((await frameWhen(page, questionShown, number + 1)) - (await lastClick(page)));
+      } else {
+        resultsRender = (await frameWhen(page, resultsShown)) - (await lastClick(page));
+      }
+    }
+
+    const inApp = await page.evaluate(() => ({
+      startup: window.__startupTiming || null,
+      finalizeResultsMs: window.__metrics?.snapshot().series['finalize.results_ms']?.max ?? null
+    }));
+    return {
+      timeToInteractiveMs: timeToInteractive,
+      setupToFirstQuestionMs: setupToFirstQuestion,
+      submitToNextQuestionP95Ms: percentile(submitToNext, 0.95),
+      inputLatencyP95Ms: percentile(inputLatency, 0.95),
+      resultsRenderMs: resultsRender,
+      details: {
+        keystrokes: inputLatency.length,
+        inputLatencyP50Ms: round(percentile(inputLatency, 0.5)),
+        inputLatencyMaxMs: round(Math.max(...inputLatency)),
+        submitToNextQuestionMs: submitToNext.map(round),
+        llmRequests: llmRequests(),
+        ...inApp
+      }
+    };
+  } finally {
+    await context.close();
+  }
+};
+
+const readTrend = () => {
+  if (!existsSync(TREND_FILE)) return [];
+  return readFileSync(TREND_FILE, 'utf8').split('\n').filter(Boolean).map(line => JSON.parse(line));
+};
+
+const currentCommit = () => {
+  try {
+    return execSync('git rev-parse --short HEAD', { cwd: here, stdio: ['ignore', 'pipe', 'ignore'] }).toString().trim();
+  } catch (error) {
+    return null;
+  }
+};
+
+const main = async () => {
+  if (!APP_URL) {
+    console.error('Set APP_URL to a page that renders the app, e.g. APP_URL=http://localhost:5173');
+    process.exit(2);
+  }
+  let chromium;
+  try {
+    ({ chromium } = await import('playwright'));
+  } catch (error) {
+    console.error('Playwright is not installed: npm i -D playwright && npx playwright install chromium');
+    process.exit(2);
+  }
+
+  const browser = await chromium.launch({ headless: !process.env.HEADED });
+  const runs = [];
+  try {
+    for (let run = 1; run <= RUNS; run++) {
+      const result = await runInterview(browser, run);
+      runs.push(result);
+      console.log(`Run ${run}/${RUNS}: ${Object.keys(budgets).map(name => `${name}=${round(result[name])}`).join(' ')}`);
+    }
+  } finally {
+    await browser.close();
+  }
+
+  const metrics = Object.fromEntries(Object.keys(budgets).map(name => [name, round(median(runs.map(run => run[name])))]));
+  const failures = Object.keys(budgets).filter(name => metrics[name] > budgets[name]);
+
+  const history = readTrend();
+  const previous = history[history.length - 1];
+  const recent = history.slice(-TREND_WINDOW);
+  const change = (value, base) => (base ? `${value >= base ? '+' : ''}${Math.round(((value - base) / base) * 100)}%` : '-');
+  console.table(Object.fromEntries(Object.keys(budgets).map(name => {
+    const trailing = recent.length ? median(recent.map(entry => entry.metrics[name])) : null;
+    return [name, {
+      value: metrics[name],
+      budget: budgets[name],
+      status: failures.includes(name) ? 'OVER' : 'ok',
+      vsPrevious: change(metrics[name], previous?.metrics[name]),
+      [`vsMedianOfLast${recent.length}`]: change(metrics[name], trailing)
+    }];
+  })));
+
+  mkdirSync(dirname(TREND_FILE), { recursive: true });
+  appendFileSync(TREND_FILE, `${JSON.stringify({
+    at: new Date().toISOString(),
+    commit: currentCommit(),
+    runs: RUNS,
+    llmLatencyMs,
+    answerWords: ANSWER_WORDS,
+    metrics,
+    failures,
+    details: runs.map(run => run.details)
+  })}\n`);
+  console.log(`Trend appended to ${TREND_FILE}`);
+
+  if (failures.length) {
+    console.error(`Over budget: ${failures.join(', ')}`);
+    process.exit(1);
+  }
+};
+
+main().catch((error) => {
+  console.error(error);
+  process.exit(1);
+});
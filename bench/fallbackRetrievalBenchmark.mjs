@@ -0,0 +1,83 @@
+#!/usr/bin/env node
+// Retrieval latency of the fallback question index as the bank grows.
+//
+//   node bench/fallbackRetrievalBenchmark.mjs [sizes...]
+//
+// Builds synthetic banks shaped like data/interviewQuestionsFallback.json
+// (10% generic questions with one difficulty and level, the rest tagged with
+// a role family, an optional domain and a competency, some limited to
+// certain levels), then times selectQuestions for random role queries.
+// Defaults to 1k, 10k, 50k and 100k questions. The real bank is measured too.
+import { readFileSync } from 'node:fs';
+import { buildQuestionIndex, selectQuestions } from '../lib/fallbackIndex.js';
+
+const QUERIES = 20000;
+const DIFFICULTIES = ['easy', 'medium', 'hard'];
+const LEVELS = ['entry', 'mid', 'senior'];
+const FAMILIES = Array.from({ length: 20 }, (_, i) => `family:f${i}`);
+const DOMAINS = Array.from({ length: 120 }, (_, i) => `domain:d${i}`);
+const COMPETENCIES = Array.from({ length: 15 }, (_, i) => `competency:c${i}`);
+
+const pick = items => items[Math.floor(Math.random() * items.length)];
+
+const syntheticBank = (size) => Array.from({ length: size }, (_, i) => {
+  if (i % 10 === 0) {
+    return { text: `generic ${i}`, tags: ['generic', pick(COMPETENCIES)], difficulty: pick(DIFFICULTIES), level: pick(LEVELS) };
+  }
+  const tags = [pick(FAMILIES), pick(COMPETENCIES)];
+  if (Math.random() < 0.6) tags.push(pick(DOMAINS));
+  const question = { text: `question ${i}`, tags };
+  if (Math.random() < 0.3) question.level = [pick(LEVELS)];
+  return question;
+});
+
+const randomQuery = (families, domains) => {
+  const tags = [{ tag: pick(families), weight: 2 }];
+  if (Math.random() < 0.7) tags.push({ tag: pick(domains), weight: 3 });
+  return { tags, difficulty: pick(DIFFICULTIES), jobLevel: pick(LEVELS) };
+};
+
+const percentile = (sorted, p) => sorted[Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+
+const measure = (label, questions) => {
+  const buildStart = performance.now();
+  const index = buildQuestionIndex(questions);
+  const buildMs = performance.now() - buildStart;
+
+  // Query with the tags that actually occur in this bank
+  const tagsWith = prefix => [...index.postings.keys()].filter(tag => tag.startsWith(prefix));
+  const families = tagsWith('family:');
+  const domains = tagsWith('domain:');
+  const queries = Array.from({ length: QUERIES }, () => randomQuery(families, domains));
+  // Warm up the JIT before timing
+  for (let i = 0; i < 2000; i++) selectQuestions(index, queries[i]);
+
+  const times = new Float64Array(QUERIES);
+  for (let i = 0; i < QUERIES; i++) {
+    const start = performance.now();
+    selectQuestions(index, queries[i]);
+    times[i] = performance.now() - start;
+  }
+  times.sort();
+  const us = ms => +(ms * 1000).toFixed(1);
+  return {
+    bank: label,
+    questions: questions.length,
+    buildMs: +buildMs.toFixed(1),
+    p50Us: us(percentile(times, 0.5)),
+    p99Us: us(percentile(times, 0.99)),
+    maxUs: us(times[times.length - 1])
+  };
+};
+
+const sizes = process.argv.slice(2).map(Number);
+const rows = [];
+
+const realBank = JSON.parse(readFileSync(new URL('../data/interviewQuestionsFallback.json', import.meta.url), 'utf8'));
+rows.push(measure('real', realBank.questions));
+
+for (const size of sizes.length ? sizes : [1000, 10000, 50000, 100000]) {
+  rows.push(measure('synthetic', syntheticBank(size)));
+}
+
+console.table(rows);
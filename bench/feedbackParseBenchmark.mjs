@@ -0,0 +1,77 @@
+#!/usr/bin/env node
+// Cost of rendering streamed feedback text: parsing the whole text again on
+// every chunk versus appending the chunk to an incremental parser
+// (lib/feedbackParser.js). Also counts how many sections change identity per
+// chunk, which is how many sections a memoized renderer re-renders.
+//
+//   node bench/feedbackParseBenchmark.mjs [chunkChars]
+//
+// The text is a grade review followed by answer feedback, repeated to the
+// length of a long review (about 6k characters).
+import { createFeedbackParser } from '../lib/feedbackParser.js';
+
+const CHUNK = Number(process.argv[2] || 24);
+const RUNS = 200;
+
+const review = `1. ASSESSMENT: The answers were short and rarely tied back to the role.
+
+2. WHAT HIRING MANAGERS LOOK FOR:
+- Hands-on experience with the core tools of the role
+- Quantified outcomes from past projects
+- Clear ownership of decisions
+
+3. WHAT WAS MISSING: Specific examples, metrics and the reasoning behind your choices.
+
+✅ STRENGTHS: Clear opening and a relevant example.
+⚠️ GAPS: The result was not quantified and your own contribution was vague.
+💡 WHAT TO SAY INSTEAD: Name the tools you used, the size of the team and a measurable outcome.
+📋 IMPROVEMENT TIPS: Use STAR and spend most of the answer on the Action and Result.
+
+`;
+const text = review.repeat(Math.ceil(6000 / review.length));
+const chunks = [];
+for (let i = 0; i < text.length; i += CHUNK) chunks.push(text.slice(i, i + CHUNK));
+
+const time = (run) => {
+  const samples = [];
+  for (let r = 0; r < RUNS; r++) {
+    const start = performance.now();
+    run();
+    samples.push(performance.now() - start);
+  }
+  samples.sort((a, b) => a - b);
+  return +samples[Math.floor(samples.length / 2)].toFixed(3);
+};
+
+const full = time(() => {
+  let received = '';
+  for (const chunk of chunks) {
+    received += chunk;
+    createFeedbackParser().append(received);
+  }
+});
+
+const incremental = time(() => {
+  const parser = createFeedbackParser();
+  for (const chunk of chunks) parser.append(chunk);
+});
+
+let changed = 0;
+let previous = [];
+const parser = createFeedbackParser();
+for (const chunk of chunks) {
+  const { sections } = parser.append(chunk);
+  changed += sections.filter(section => !previous.includes(section)).length;
+  previous = sections;
+}
+
+console.log(JSON.stringify({
+  textChars: text.length,
+  chunkChars: CHUNK,
+  chunks: chunks.length,
+  sections: previous.length,
+  fullReparseMsPerStream: full,
+  incrementalMsPerStream: incremental,
+  speedup: +(full / incremental).toFixed(1),
+  sectionsChangedPerChunk: +(changed / chunks.length).toFixed(2)
+}, null, 2));
@@ -0,0 +1,64 @@
+// Keystroke render-count and input-latency benchmark.
+//
+// Start an interview, then paste this file into the browser console (or load
+// it with a <script> tag). It types into the answer textarea one character at
+// a time and reports, per keystroke:
+//   - commits and render time for each <Profiler> id (from window.__renderStats)
+//   - input latency: time spent handling the input event, and time until the
+//     next frame has been produced
+//
+// Expected result: each keystroke commits only the "answer-input" profiler
+// (and its enclosing "interview" screen profiler, which reports nested
+// commits), with render time limited to the textarea. Revisions before the
+// interview store had no profilers; compare input latency against them.
+(async function keystrokeBenchmark(keystrokes = 500) {
+  const textarea = document.querySelector('textarea');
+  if (!textarea) {
+    console.error('Start an interview first - no answer textarea found.');
+    return;
+  }
+
+  const setValue = Object.getOwnPropertyDescriptor(HTMLTextAreaElement.prototype, 'value').set;
+  const nextFrame = () => new Promise(resolve => requestAnimationFrame(() => setTimeout(resolve, 0)));
+  const percentile = (values, p) => {
+    const sorted = [...values].sort((a, b) => a - b);
+    return sorted[Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+  };
+
+  const stats = window.__renderStats || {};
+  const before = JSON.parse(JSON.stringify(stats));
+  const handlerTimes = [];
+  const frameTimes = [];
+  const text = 'The quick brown fox jumps over the lazy dog. ';
+
+  for (let i = 0; i < keystrokes; i++) {
+    const start = performance.now();
+    setValue.call(textarea, textarea.value + text[i % text.length]);
+    textarea.dispatchEvent(new Event('input', { bubbles: true }));
+    handlerTimes.push(performance.now() - start);
+    await nextFrame();
+    frameTimes.push(performance.now() - start);
+  }
+
+  const perProfiler = {};
+  Object.keys(stats).forEach((id) => {
+    const commits = stats[id].commits - (before[id]?.commits || 0);
+    const duration = stats[id].actualDuration - (before[id]?.actualDuration || 0);
+    if (commits > 0) {
+      perProfiler[id] = {
+        commitsPerKeystroke: +(commits / keystrokes).toFixed(2),
+        renderMsPerKeystroke: +(duration / keystrokes).toFixed(3)
+      };
+    }
+  });
+
+  const report = {
+    keystrokes,
+    profilers: perProfiler,
+    inputHandlerMs: { p50: percentile(handlerTimes, 0.5), p95: percentile(handlerTimes, 0.95) },
+    nextFrameMs: { p50: percentile(frameTimes, 0.5), p95: percentile(frameTimes, 0.95) }
+  };
+  console.table(perProfiler);
+  console.log(JSON.stringify(report, null, 2));
+  return report;
+})();
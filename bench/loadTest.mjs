@@ -0,0 +1,313 @@
+#!/usr/bin/env node
+// Load test: simulated candidates going through a whole interview at once.
+//
+// Each virtual candidate signs up, logs in, starts an interview (question
+// generation), submits ten answers (one feedback call each, separated by a
+// think time) and opens the results (grade feedback). The request bodies are
+// the app's own, from lib/llmRequests.js. A failed or unusable LLM response
+// counts as a fallback, as it would in the app.
+//
+//   node bench/loadTest.mjs                       starts a mock upstream and gateway in-process
+//   TARGET=http://localhost:8787/v1/messages GATEWAY_TOKEN=... node bench/loadTest.mjs
+//                                                 (a gateway started with CLIENT_RATE_PER_MINUTE=0)
+//
+// Settings (environment variables):
+//   CANDIDATES=1000      virtual candidates in total
+//   CONCURRENCY=500      candidates in an interview at the same time
+//   THINK=lognormal:90000:0.5   time per answer: fixed:MS | uniform:MIN:MAX |
+//                        exp:MEAN | lognormal:MEDIAN:SIGMA (milliseconds)
+//   TIME_SCALE=0.01      multiplies think times, so a run takes minutes
+//   MOCK_LATENCY_MS=800  mock upstream latency, in-process mode only
+//   MOCK_SEARCH_LATENCY_MS=4000  extra latency of web search requests, in-process mode only
+//   MOCK_ERROR_RATE=0.01 mock upstream error rate, in-process mode only
+//   RATE_LIMIT_RPS=200   gateway rate limit, in-process mode only
+//
+// F grades reuse role research cached by an earlier F grade for the same
+// role and level, and otherwise make a research request first, as the app
+// does (lib/roleResearch.js); the report shows the research hit rate and
+// grade latency with and without a search.
+//
+// Sign-up and login only touch browser storage in the app, so they run
+// against an in-memory stand-in here. They are reported for completeness;
+// the LLM stages are the ones that load shared infrastructure.
+import { buildQuestionsRequest, buildFeedbackRequest, buildGradeRequest, buildRoleResearchRequest, responseText, parseQuestions, splitRoleResearch } from '../lib/llmRequests.js';
+import { normalizeRole, roleSlug } from '../lib/roleNames.js';
+import { createGateway } from '../server/llmGateway.mjs';
+import { createMockUpstream } from '../server/mockUpstream.mjs';
+
+const env = (name, fallback) => process.env[name] ?? fallback;
+const CANDIDATES = Number(env('CANDIDATES', 1000));
+const CONCURRENCY = Number(env('CONCURRENCY', 500));
+const THINK = env('THINK', 'lognormal:90000:0.5');
+const TIME_SCALE = Number(env('TIME_SCALE', 0.01));
+const QUESTIONS_PER_INTERVIEW = 10;
+// The in-process gateway is started with this token
+const GATEWAY_TOKEN = env('GATEWAY_TOKEN', 'load-test');
+
+const ROLES = [
+  'Software Engineer', 'Data Analyst', 'Product Manager', 'Nurse', 'Accountant',
+  'Marketing Coordinator', 'UX Designer', 'Sales Representative', 'Teacher', 'Mechanical Engineer',
+  'Project Manager', 'Customer Success Manager', 'Financial Analyst', 'HR Generalist', 'DevOps Engineer'
+];
+const LEVELS = ['entry', 'mid', 'senior'];
+const DIFFICULTIES = ['easy', 'medium', 'hard'];
+const GRADES = [['A', 0.15], ['B', 0.35], ['C', 0.3], ['F', 0.2]];
+const GRADE_SCORES = { A: 92, B: 78, C: 60, F: 35 };
+const WORDS = 'we I my team project example result customer improved reduced process data deadline stakeholder quality'.split(' ');
+
+const pick = items => items[Math.floor(Math.random() * items.length)];
+
+const pickGrade = () => {
+  let r = Math.random();
+  for (const [grade, weight] of GRADES) {
+    if ((r -= weight) <= 0) return grade;
+  }
+  return 'C';
+};
+
+const syntheticAnswer = () => {
+  const words = 80 + Math.floor(Math.random() * 170);
+  return Array.from({ length: words }, () => pick(WORDS)).join(' ');
+};
+
+// Box-Muller standard normal
+const normal = () => Math.sqrt(-2 * Math.log(1 - Math.random())) * Math.cos(2 * Math.PI * Math.random());
+
+const parseThinkTime = (spec) => {
+  const [kind, a, b] = spec.split(':');
+  const x = Number(a);
+  const y = Number(b);
+  switch (kind) {
+    case 'fixed': return () => x;
+    case 'uniform': return () => x + Math.random() * (y - x);
+    case 'exp': return () => -x * Math.log(1 - Math.random());
+    case 'lognormal': return () => x * Math.exp(y * normal());
+    default: throw new Error(`Unknown think time distribution: ${spec}`);
+  }
+};
+
+const thinkTime = parseThinkTime(THINK);
+const sleep = ms => new Promise(resolve => setTimeout(resolve, ms));
+
+const createStageStats = () => ({ latencies: [], errors: {}, fallbacks: 0 });
+const stages = {
+  signup: createStageStats(),
+  login: createStageStats(),
+  questions: createStageStats(),
+  feedback: createStageStats(),
+  research: createStageStats(),
+  grade: createStageStats()
+};
+
+// Shared role research for F grades: role-level key -> research document
+const roleResearch = new Map();
+const researchStats = { lookups: 0, hits: 0, searchLatencies: [], cachedLatencies: [] };
+
+const percentile = (sorted, p) => (sorted.length ? sorted[Math.min(sorted.length - 1, Math.floor(p * sorted.length))] : 0);
+
+// In-memory stand-in for window.storage, with JSON round trips like the app
+const userStore = new Map();
+
+const signup = async (email) => {
+  userStore.set(`user-${email}`, JSON.stringify({ name: 'Load Test', email, password: 'hunter22', createdAt: new Date().toISOString() }));
+};
+
+const login = async (email) => {
+  const user = JSON.parse(userStore.get(`user-${email}`));
+  if (user.password !== 'hunter22') throw new Error('Invalid credentials');
+  userStore.set('current-user', JSON.stringify({ name: user.name, email }));
+};
+
+const postMessage = async (target, callType, body) => {
+  const response = await fetch(target, {
+    method: 'POST',
+    headers: { 'Content-Type': 'application/json', 'X-AIIC-Call-Type': callType, 'X-AIIC-Token': GATEWAY_TOKEN },
+    body: JSON.stringify(body)
+  });
+  if (!response.ok) {
+    await response.arrayBuffer();
+    throw Object.assign(new Error(`HTTP ${response.status}`), { status: response.status });
+  }
+  return response.json();
+};
+
+// Times one stage. isUsable decides whether the app could use the result or
+// would fall back.
+const runStage = async (name, operation, isUsable = () => true) => {
+  const stage = stages[name];
+  const start = performance.now();
+  try {
+    const result = await operation();
+    stage.latencies.push(performance.now() - start);
+    if (!isUsable(result)) stage.fallbacks += 1;
+    return result;
+  } catch (error) {
+    stage.latencies.push(performance.now() - start);
+    const key = error.status || error.cause?.code || error.message;
+    stage.errors[key] = (stage.errors[key] || 0) + 1;
+    if (!['signup', 'login'].includes(name)) stage.fallbacks += 1;
+    return null;
+  }
+};
+
+const runCandidate = async (target, id) => {
+  const email = `candidate-${id}@load.test`;
+  const jobRole = pick(ROLES);
+  const jobLevel = pick(LEVELS);
+  const difficulty = pick(DIFFICULTIES);
+
+  await runStage('signup', () => signup(email));
+  await runStage('login', () => login(email));
+
+  const data = await runStage(
+    'questions',
+    () => postMessage(target, 'questions', buildQuestionsRequest(jobRole, jobLevel, difficulty)),
+    result => parseQuestions(responseText(result)).length >= QUESTIONS_PER_INTERVIEW
+  );
+  const questions = data ? parseQuestions(responseText(data)) : [];
+
+  const answers = [];
+  for (let i = 0; i < QUESTIONS_PER_INTERVIEW; i++) {
+    await sleep(Math.max(0, thinkTime() * TIME_SCALE));
+    const answer = syntheticAnswer();
+    answers.push(answer);
+    await runStage(
+      'feedback',
+      () => postMessage(target, 'feedback', buildFeedbackRequest({ jobRole, jobLevel, question: questions[i] || `Question ${i + 1}`, answer })),
+      result => responseText(result) !== ''
+    );
+  }
+
+  const grade = pickGrade();
+  const researchKey = `${roleSlug(jobRole)}-${jobLevel}`;
+  const cached = grade === 'F' ? roleResearch.get(researchKey) || null : null;
+  const gradeStart = performance.now();
+  let research = cached;
+  if (grade === 'F' && !cached) {
+    const researchData = await runStage(
+      'research',
+      () => postMessage(target, 'research', buildRoleResearchRequest(normalizeRole(jobRole), jobLevel)),
+      result => splitRoleResearch(responseText(result)).research !== null
+    );
+    const found = researchData && splitRoleResearch(responseText(researchData)).research;
+    if (found) {
+      research = { ...found, researchedAt: Date.now() };
+      roleResearch.set(researchKey, research);
+    }
+  }
+  const gradeData = await runStage(
+    'grade',
+    () => postMessage(target, 'grade', buildGradeRequest({ grade, score: GRADE_SCORES[grade], answers, jobRole, jobLevel, research })),
+    result => responseText(result) !== ''
+  );
+  if (grade === 'F' && gradeData) {
+    researchStats.lookups += 1;
+    if (cached) researchStats.hits += 1;
+    (cached ? researchStats.cachedLatencies : researchStats.searchLatencies).push(performance.now() - gradeStart);
+  }
+};
+
+const startInProcessBackend = async () => {
+  const mock = createMockUpstream({
+    latencyMs: Number(env('MOCK_LATENCY_MS', 800)),
+    jitterMs: Number(env('MOCK_JITTER_MS', 400)),
+    searchLatencyMs: Number(env('MOCK_SEARCH_LATENCY_MS', 4000)),
+    errorRate: Number(env('MOCK_ERROR_RATE', 0.01))
+  });
+  await new Promise(resolve => mock.server.listen(0, resolve));
+  const gateway = createGateway({
+    upstreamUrl: `http://localhost:${mock.server.address().port}/v1/messages`,
+    ratePerSecond: Number(env('RATE_LIMIT_RPS', 200)),
+    burst: Number(env('RATE_LIMIT_BURST', 400)),
+    maxQueue: Number(env('RATE_LIMIT_QUEUE', 5000)),
+    maxWaitMs: 30000,
+    token: GATEWAY_TOKEN,
+    // Every virtual candidate comes from this one address
+    clientRatePerMinute: 0
+  });
+  await new Promise(resolve => gateway.server.listen(0, resolve));
+  return {
+    target: `http://localhost:${gateway.server.address().port}/v1/messages`,
+    stats: () => ({ gateway: gateway.stats, upstream: mock.stats }),
+    close: () => {
+      gateway.server.close();
+      mock.server.close();
+    }
+  };
+};
+
+const fetchStats = async (target) => {
+  try {
+    const response = await fetch(new URL('/stats', target), { headers: { 'X-AIIC-Token': GATEWAY_TOKEN } });
+    return { gateway: await response.json() };
+  } catch (error) {
+    return null;
+  }
+};
+
+const main = async () => {
+  const backend = process.env.TARGET ? null : await startInProcessBackend();
+  const target = process.env.TARGET || backend.target;
+  console.log(`Running ${CANDIDATES} candidates, ${CONCURRENCY} concurrent, think ${THINK} x ${TIME_SCALE}, against ${target}`);
+
+  const start = performance.now();
+  let next = 0;
+  let completed = 0;
+  const progress = setInterval(() => {
+    console.log(`  ${completed}/${CANDIDATES} interviews complete`);
+  }, 5000);
+
+  // A fixed pool of workers, each running candidates back to back
+  await Promise.all(Array.from({ length: Math.min(CONCURRENCY, CANDIDATES) }, async () => {
+    while (next < CANDIDATES) {
+      await runCandidate(target, next++);
+      completed += 1;
+    }
+  }));
+  clearInterval(progress);
+  const wallSeconds = (performance.now() - start) / 1000;
+
+  const report = {
+    candidates: CANDIDATES,
+    concurrency: CONCURRENCY,
+    wallSeconds: +wallSeconds.toFixed(1),
+    interviewsPerSecond: +(CANDIDATES / wallSeconds).toFixed(2),
+    llmRequestsPerSecond: +(['questions', 'feedback', 'research', 'grade']
+      .reduce((sum, name) => sum + stages[name].latencies.length, 0) / wallSeconds).toFixed(1),
+    stages: Object.fromEntries(Object.entries(stages).map(([name, stage]) => {
+      const sorted = [...stage.latencies].sort((a, b) => a - b);
+      const errors = Object.values(stage.errors).reduce((sum, count) => sum + count, 0);
+      return [name, {
+        requests: sorted.length,
+        p50Ms: +percentile(sorted, 0.5).toFixed(1),
+        p90Ms: +percentile(sorted, 0.9).toFixed(1),
+        p95Ms: +percentile(sorted, 0.95).toFixed(1),
+        p99Ms: +percentile(sorted, 0.99).toFixed(1),
+        maxMs: +(sorted[sorted.length - 1] || 0).toFixed(1),
+        errorRate: sorted.length ? +(errors / sorted.length).toFixed(4) : 0,
+        fallbackRate: sorted.length ? +(stage.fallbacks / sorted.length).toFixed(4) : 0,
+        errors: stage.errors
+      }];
+    })),
+    roleResearch: (() => {
+      const searched = [...researchStats.searchLatencies].sort((a, b) => a - b);
+      const cached = [...researchStats.cachedLatencies].sort((a, b) => a - b);
+      return {
+        fGrades: researchStats.lookups,
+        hits: researchStats.hits,
+        hitRate: researchStats.lookups ? +(researchStats.hits / researchStats.lookups).toFixed(3) : 0,
+        withSearchP50Ms: +percentile(searched, 0.5).toFixed(1),
+        withCacheP50Ms: +percentile(cached, 0.5).toFixed(1)
+      };
+    })(),
+    backend: backend ? backend.stats() : await fetchStats(target)
+  };
+
+  console.log(JSON.stringify(report, null, 2));
+  if (backend) backend.close();
+};
+
+main().catch((error) => {
+  console.error(error);
+  process.exit(1);
+});
@@ -0,0 +1,89 @@
+// Real-time-factor benchmark for the on-device whisper engine.
+//
+// Load this as a module on a page served from the app origin, for example
+//   <script type="module" src="/bench/whisperRtfBenchmark.js"></script>
+// and open it with ?audio=<recording>&script=<whisper main.js>&model=<ggml model>,
+// or import runWhisperRtfBenchmark() and call it from the console.
+//
+// The recording is decoded, resampled to 16 kHz mono and streamed into the
+// worker in 100 ms chunks, just as the AudioWorklet would send it, but as fast
+// as the worker accepts it. RTF is processing time divided by audio duration:
+// under 1 means the engine keeps up with live speech on this CPU.
+const SAMPLE_RATE = 16000;
+const CHUNK_SAMPLES = SAMPLE_RATE / 10;
+
+const decodeTo16kMono = async (audioUrl) => {
+  const encoded = await (await fetch(audioUrl)).arrayBuffer();
+  const decoded = await new AudioContext().decodeAudioData(encoded);
+  const offline = new OfflineAudioContext(1, Math.ceil(decoded.duration * SAMPLE_RATE), SAMPLE_RATE);
+  const source = offline.createBufferSource();
+  source.buffer = decoded;
+  source.connect(offline.destination);
+  source.start();
+  return (await offline.startRendering()).getChannelData(0);
+};
+
+const percentile = (values, p) => {
+  const sorted = [...values].sort((a, b) => a - b);
+  return sorted[Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+};
+
+export const runWhisperRtfBenchmark = async ({ audioUrl, scriptUrl, modelUrl, threads = 1 }) => {
+  const audio = await decodeTo16kMono(audioUrl);
+  const worker = new Worker(new URL('../workers/whisperWorker.js', import.meta.url));
+  const passes = [];
+  const finals = [];
+
+  const loadStart = performance.now();
+  await new Promise((resolve, reject) => {
+    worker.onmessage = ({ data }) => {
+      if (data.type === 'ready') resolve();
+      if (data.type === 'error') reject(new Error(data.message));
+    };
+    worker.postMessage({ type: 'init', scriptUrl, modelUrl, threads });
+  });
+  const loadMs = performance.now() - loadStart;
+
+  const start = performance.now();
+  await new Promise((resolve) => {
+    worker.onmessage = ({ data }) => {
+      if (data.type === 'stats') passes.push(data);
+      if (data.type === 'final') finals.push(data.text);
+      if (data.type === 'flushed') resolve();
+    };
+    for (let offset = 0; offset < audio.length; offset += CHUNK_SAMPLES) {
+      const samples = audio.slice(offset, offset + CHUNK_SAMPLES);
+      worker.postMessage({ type: 'audio', samples }, [samples.buffer]);
+    }
+    worker.postMessage({ type: 'flush' });
+  });
+  const wallMs = performance.now() - start;
+  worker.terminate();
+
+  const audioMs = (audio.length / SAMPLE_RATE) * 1000;
+  const passRtf = passes.map(pass => pass.processingMs / pass.audioMs);
+  const report = {
+    threads,
+    modelLoadMs: Math.round(loadMs),
+    audioSeconds: +(audioMs / 1000).toFixed(1),
+    wallSeconds: +(wallMs / 1000).toFixed(1),
+    // Wall time over audio length, including re-transcribing partial windows
+    overallRtf: +(wallMs / audioMs).toFixed(3),
+    passes: passes.length,
+    passRtfP50: +percentile(passRtf, 0.5).toFixed(3),
+    passRtfP95: +percentile(passRtf, 0.95).toFixed(3),
+    transcript: finals.join(' ')
+  };
+  console.log(JSON.stringify(report, null, 2));
+  return report;
+};
+
+const params = new URLSearchParams(location.search);
+if (params.get('audio') && params.get('script') && params.get('model')) {
+  runWhisperRtfBenchmark({
+    audioUrl: params.get('audio'),
+    scriptUrl: params.get('script'),
+    modelUrl: params.get('model'),
+    threads: Number(params.get('threads') || 1)
+  });
+}
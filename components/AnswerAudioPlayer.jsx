@@ -0,0 +1,61 @@
+import React, { useState, useEffect, useRef } from 'react';
+import { loadRecordingBlob } from '../lib/answerAudio';
+
+// Plays back a stored voice answer. MediaRecorder output has no duration or
+// seek index, so on load the element is pushed to the end once to make the
+// browser compute the duration, then rewound. After that the native controls
+// can seek anywhere.
+export default function AnswerAudioPlayer({ recordingId, label }) {
+  const [url, setUrl] = useState(null);
+  const [isMissing, setIsMissing] = useState(false);
+  const audioRef = useRef(null);
+
+  useEffect(() => {
+    let objectUrl = null;
+    let cancelled = false;
+    loadRecordingBlob(recordingId)
+      .then((result) => {
+        if (cancelled) return;
+        if (!result) {
+          setIsMissing(true);
+          return;
+        }
+        objectUrl = URL.createObjectURL(result.blob);
+        setUrl(objectUrl);
+      })
+      .catch((error) => {
+        console.error('Failed to load answer audio:', error);
+        if (!cancelled) setIsMissing(true);
+      });
+    return () => {
+      cancelled = true;
+      if (objectUrl) URL.revokeObjectURL(objectUrl);
+    };
+  }, [recordingId]);
+
+  const onLoadedMetadata = () => {
+    const audio = audioRef.current;
+    if (audio && audio.duration === Infinity) {
+      audio.currentTime = Number.MAX_SAFE_INTEGER;
+      audio.ontimeupdate = () => {
+        audio.ontimeupdate = null;
+        audio.currentTime = 0;
+      };
+    }
+  };
+
+  if (isMissing) {
+    return <p className="text-xs text-gray-500">Recording no longer available.</p>;
+  }
+
+  return (
+    <div className="flex items-center gap-3">
+      {label && <span className="text-xs font-semibold text-gray-600">{label}</span>}
+      {url ? (
+        <audio ref={audioRef} src={url} controls preload="metadata" onLoadedMetadata={onLoadedMetadata} className="h-8 flex-1" />
+      ) : (
+        <span className="text-xs text-gray-500">Loading recording...</span>
+      )}
+    </div>
+  );
+}
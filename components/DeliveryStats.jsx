@@ -0,0 +1,38 @@
+import React, { memo } from 'react';
+
+const paceColor = (wpm) => {
+  if (wpm === 0) return 'text-gray-500';
+  if (wpm >= 110 && wpm <= 170) return 'text-green-600';
+  return 'text-yellow-600';
+};
+
+// Pace, filler and pause figures for one dictated answer. Used live while
+// recording (rolling pace) and on the results screen (average pace).
+export default memo(function DeliveryStats({ delivery, live = false }) {
+  if (!delivery) return null;
+  const wpm = live ? delivery.wpm : delivery.averageWpm;
+  const topFillers = Object.entries(delivery.fillers)
+    .sort((a, b) => b[1] - a[1])
+    .slice(0, 3)
+    .map(([filler, count]) => `"${filler}" ×${count}`)
+    .join(', ');
+
+  return (
+    <div className="grid grid-cols-3 gap-3 text-center text-xs bg-gray-50 border border-gray-200 rounded-lg p-3">
+      <div>
+        <div className={`text-lg font-bold ${paceColor(wpm)}`}>{wpm}</div>
+        <div className="text-gray-600">{live ? 'words/min (last 30s)' : 'words/min'}</div>
+      </div>
+      <div>
+        <div className="text-lg font-bold text-gray-800">{delivery.fillerCount}</div>
+        <div className="text-gray-600">fillers{topFillers && `: ${topFillers}`}</div>
+      </div>
+      <div>
+        <div className="text-lg font-bold text-gray-800">{delivery.longPauses}</div>
+        <div className="text-gray-600">
+          long pauses{delivery.longestPauseMs > 0 && ` (max ${(delivery.longestPauseMs / 1000).toFixed(1)}s)`}
+        </div>
+      </div>
+    </div>
+  );
+});
@@ -0,0 +1,57 @@
+import React, { memo, useMemo } from 'react';
+import { parseFeedback } from '../lib/feedbackParser';
+
+const SECTION_STYLES = {
+  strengths: 'bg-green-50 text-green-900 border-green-500',
+  gaps: 'bg-yellow-50 text-yellow-900 border-yellow-500',
+  suggestions: 'bg-indigo-50 text-indigo-900 border-indigo-500',
+  tips: 'bg-blue-50 text-blue-900 border-blue-500'
+};
+
+const SectionLines = ({ lines }) => {
+  const blocks = [];
+  lines.forEach((line, i) => {
+    const previous = blocks[blocks.length - 1];
+    if (line.listItem && previous?.list) previous.items.push(line.text);
+    else if (line.listItem) blocks.push({ list: true, key: i, items: [line.text] });
+    else blocks.push({ list: false, key: i, text: line.text });
+  });
+  return blocks.map(block => (block.list ? (
+    <ul key={block.key} className="list-disc pl-5 space-y-1">
+      {block.items.map((item, i) => <li key={i}>{item}</li>)}
+    </ul>
+  ) : (
+    <p key={block.key}>{block.text}</p>
+  )));
+};
+
+// Sections are immutable once complete, so memo skips all but the one that
+// changed
+const FeedbackSection = memo(function FeedbackSection({ section }) {
+  if (section.kind === 'heading' || section.kind === 'text') {
+    return (
+      <div className="space-y-2">
+        {section.title && <h4 className="font-semibold text-gray-800">{section.title}</h4>}
+        <SectionLines lines={section.lines} />
+      </div>
+    );
+  }
+  return (
+    <div className={`text-sm p-4 rounded-lg border-l-4 space-y-1 ${SECTION_STYLES[section.kind]}`}>
+      {section.title && <div className="font-bold">{section.title}</div>}
+      <SectionLines lines={section.lines} />
+    </div>
+  );
+});
+
+// LLM feedback text (answer feedback or the grade review) rendered as
+// sections. Parsing is cached by content, so re-renders of the parent cost
+// nothing and a streamed, growing text only parses its new part.
+export default memo(function FeedbackText({ text }) {
+  const model = useMemo(() => parseFeedback(text), [text]);
+  return (
+    <div className="space-y-3 leading-relaxed">
+      {model.sections.map(section => <FeedbackSection key={section.id} section={section} />)}
+    </div>
+  );
+});
@@ -0,0 +1,93 @@
+import React, { useState, useEffect } from 'react';
+import { metrics } from '../lib/metrics';
+
+// Developer overlay for the hot-path metrics. Toggle with Ctrl+Shift+M.
+// It only polls the metrics registry while open.
+export default function MetricsOverlay() {
+  const [isOpen, setIsOpen] = useState(false);
+  const [snapshot, setSnapshot] = useState(null);
+
+  useEffect(() => {
+    const onKeyDown = (e) => {
+      if (e.ctrlKey && e.shiftKey && (e.key === 'M' || e.key === 'm')) {
+        setIsOpen(open => !open);
+      }
+    };
+    window.addEventListener('keydown', onKeyDown);
+    return () => window.removeEventListener('keydown', onKeyDown);
+  }, []);
+
+  useEffect(() => {
+    if (!isOpen) return;
+    setSnapshot(metrics.snapshot());
+    const interval = setInterval(() => setSnapshot(metrics.snapshot()), 1000);
+    return () => clearInterval(interval);
+  }, [isOpen]);
+
+  const exportJson = () => {
+    const blob = new Blob([metrics.exportJson()], { type: 'application/json' });
+    const url = URL.createObjectURL(blob);
+    const link = document.createElement('a');
+    link.href = url;
+    link.download = `aiic-metrics-${Date.now()}.json`;
+    link.click();
+    URL.revokeObjectURL(url);
+  };
+
+  if (!isOpen || !snapshot) return null;
+
+  return (
+    <div className="fixed bottom-4 right-4 w-[36rem] max-h-[70vh] overflow-auto bg-gray-900 text-gray-100 text-xs font-mono rounded-lg shadow-2xl p-4 z-50">
+      <div className="flex items-center justify-between mb-3">
+        <span className="font-bold text-sm">Metrics</span>
+        <div className="flex gap-2">
+          <button onClick={exportJson} className="px-2 py-1 bg-indigo-600 rounded hover:bg-indigo-700">
+            Export JSON
+          </button>
+          <button onClick={() => metrics.reset()} className="px-2 py-1 bg-gray-700 rounded hover:bg-gray-600">
+            Reset
+          </button>
+          <button onClick={() => setIsOpen(false)} className="px-2 py-1 bg-gray-700 rounded hover:bg-gray-600">
+            Close
+          </button>
+        </div>
+      </div>
+
+      <table className="w-full mb-4">
+        <thead>
+          <tr className="text-gray-400 text-left">
+            <th>series</th><th>count</th><th>p50</th><th>p95</th><th>max</th>
+          </tr>
+        </thead>
+        <tbody>
+          {Object.entries(snapshot.series).map(([name, s]) => (
+            <tr key={name}>
+              <td className="pr-2">{name}</td>
+              <td>{s.count}</td>
+              <td>{s.p50}</td>
+              <td>{s.p95}</td>
+              <td>{s.max}</td>
+            </tr>
+          ))}
+        </tbody>
+      </table>
+
+      <table className="w-full">
+        <thead>
+          <tr className="text-gray-400 text-left">
+            <th>event</th><th>count</th><th>per second (10s)</th>
+          </tr>
+        </thead>
+        <tbody>
+          {Object.entries(snapshot.events).map(([name, e]) => (
+            <tr key={name}>
+              <td className="pr-2">{name}</td>
+              <td>{e.count}</td>
+              <td>{e.perSecond}</td>
+            </tr>
+          ))}
+        </tbody>
+      </table>
+    </div>
+  );
+}
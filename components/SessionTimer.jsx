@@ -0,0 +1,9 @@
+import React from 'react';
+import { useSessionSeconds, formatTime } from '../lib/sessionClock';
+
+// Subscribes to the session clock on its own so the per-second tick only
+// re-renders this label, not the whole interview screen.
+export default function SessionTimer({ className }) {
+  const seconds = useSessionSeconds();
+  return <span className={className}>{formatTime(seconds)}</span>;
+}
@@ -0,0 +1,119 @@
+import { createDatabase, requestToPromise, transactionDone } from './idb';
+
+// Voice answer recordings. MediaRecorder emits Opus audio in one-second
+// timeslices, and each slice is written to IndexedDB as soon as it arrives,
+// so a long answer never builds up in memory. Playback stitches the stored
+// slices back into one Blob, which the browser reads lazily from disk.
+const DB_NAME = 'aiic-answer-audio';
+const DB_VERSION = 1;
+const TIMESLICE_MS = 1000;
+const MIME_TYPES = ['audio/webm;codecs=opus', 'audio/ogg;codecs=opus', 'audio/webm'];
+
+const openDb = createDatabase(DB_NAME, DB_VERSION, (db) => {
+  db.createObjectStore('chunks', { keyPath: ['recordingId', 'seq'] });
+  const recordings = db.createObjectStore('recordings', { keyPath: 'id' });
+  recordings.createIndex('userEmail', 'userEmail');
+});
+
+const chunkRange = (recordingId) => IDBKeyRange.bound([recordingId, 0], [recordingId, Infinity]);
+
+export const isAnswerAudioSupported = () => (
+  typeof MediaRecorder !== 'undefined' &&
+  typeof indexedDB !== 'undefined' &&
+  Boolean(navigator.mediaDevices?.getUserMedia)
+);
+
+// Starts recording the microphone for one answer. Resolves to a handle whose
+// stop() resolves with the stored recording's metadata once the last slice
+// has been written.
+export const startAnswerRecording = async ({ userEmail, questionIndex }) => {
+  const db = await openDb();
+  const stream = await navigator.mediaDevices.getUserMedia({ audio: true });
+  const mimeType = MIME_TYPES.find(type => MediaRecorder.isTypeSupported(type)) || '';
+  const recorder = new MediaRecorder(stream, mimeType ? { mimeType, audioBitsPerSecond: 32000 } : undefined);
+
+  const recording = {
+    id: `${Date.now()}-${Math.random().toString(36).slice(2, 8)}`,
+    userEmail,
+    questionIndex,
+    mimeType: recorder.mimeType || mimeType,
+    createdAt: new Date().toISOString(),
+    durationMs: 0,
+    chunkCount: 0,
+    bytes: 0
+  };
+  const startedAt = performance.now();
+  let writes = Promise.resolve();
+
+  recorder.ondataavailable = ({ data }) => {
+    if (!data || data.size === 0) return;
+    const seq = recording.chunkCount++;
+    recording.bytes += data.size;
+    // Writes are chained so slices land in order; the Blob is not kept here
+    writes = writes.then(() => {
+      const tx = db.transaction('chunks', 'readwrite');
+      tx.objectStore('chunks').put({ recordingId: recording.id, seq, blob: data });
+      return transactionDone(tx);
+    }).catch(error => console.error('Failed to store answer audio:', error));
+  };
+
+  const stopped = new Promise((resolve) => {
+    recorder.onstop = resolve;
+  });
+
+  recorder.start(TIMESLICE_MS);
+
+  return {
+    recordingId: recording.id,
+
+    async stop() {
+      if (recorder.state !== 'inactive') recorder.stop();
+      await stopped;
+      stream.getTracks().forEach(track => track.stop());
+      await writes;
+      recording.durationMs = Math.round(performance.now() - startedAt);
+      const tx = db.transaction('recordings', 'readwrite');
+      tx.objectStore('recordings').put(recording);
+      await transactionDone(tx);
+      return recording;
+    }
+  };
+};
+
+export const getRecording = async (recordingId) => {
+  const db = await openDb();
+  return requestToPromise(db.transaction('recordings').objectStore('recordings').get(recordingId));
+};
+
+// One Blob over all stored slices, in order. Blobs read back from IndexedDB
+// are disk-backed, so concatenating them doesn't load the audio into memory.
+export const loadRecordingBlob = async (recordingId) => {
+  const db = await openDb();
+  const recording = await getRecording(recordingId);
+  if (!recording) return null;
+  const chunks = await requestToPromise(
+    db.transaction('chunks').objectStore('chunks').getAll(chunkRange(recordingId))
+  );
+  return {
+    recording,
+    blob: new Blob(chunks.map(chunk => chunk.blob), { type: recording.mimeType })
+  };
+};
+
+export const deleteRecording = async (recordingId) => {
+  const db = await openDb();
+  const tx = db.transaction(['chunks', 'recordings'], 'readwrite');
+  tx.objectStore('chunks').delete(chunkRange(recordingId));
+  tx.objectStore('recordings').delete(recordingId);
+  return transactionDone(tx);
+};
+
+// Drops every recording a user made, e.g. when a new interview replaces the
+// one whose results referenced them
+export const deleteUserRecordings = async (userEmail) => {
+  const db = await openDb();
+  const ids = await requestToPromise(
+    db.transaction('recordings').objectStore('recordings').index('userEmail').getAllKeys(userEmail)
+  );
+  await Promise.all(ids.map(deleteRecording));
+};
@@ -0,0 +1,101 @@
+// Bloom filters over strings. A filter sized for capacity items at false-
+// positive rate p takes -capacity * ln(p) / ln(2)^2 bits, whatever the items
+// are, and serializes to base64 for storage. No imports, so it can be tested
+// from Node.
+
+// FNV-1a, then the murmur3 finalizer for a second, independent-looking hash;
+// bit positions are h1 + i * h2 (Kirsch-Mitzenmacher double hashing)
+const fnv1a = (text) => {
+  let hash = 0x811c9dc5;
+  for (let i = 0; i < text.length; i++) {
+    hash ^= text.charCodeAt(i);
+    hash = Math.imul(hash, 0x01000193);
+  }
+  return hash >>> 0;
+};
+
+const mix = (value) => {
+  let h = value ^ 0x9e3779b9;
+  h = Math.imul(h ^ (h >>> 16), 0x85ebca6b);
+  h = Math.imul(h ^ (h >>> 13), 0xc2b2ae35);
+  return (h ^ (h >>> 16)) >>> 0;
+};
+
+const toBase64 = (bytes) => {
+  let binary = '';
+  for (let i = 0; i < bytes.length; i += 0x8000) {
+    binary += String.fromCharCode(...bytes.subarray(i, i + 0x8000));
+  }
+  return btoa(binary);
+};
+
+const fromBase64 = text => Uint8Array.from(atob(text), c => c.charCodeAt(0));
+
+export const bloomSize = (capacity, falsePositiveRate) => {
+  const bits = Math.ceil(-capacity * Math.log(falsePositiveRate) / Math.LN2 ** 2);
+  return { bits, hashes: Math.max(1, Math.round((bits / capacity) * Math.LN2)) };
+};
+
+export const createBloomFilter = ({ bits, hashes, count = 0, data = null }) => {
+  const bytes = data ? fromBase64(data) : new Uint8Array(Math.ceil(bits / 8));
+  let added = count;
+
+  const positions = (text) => {
+    const h1 = fnv1a(text);
+    const h2 = mix(h1) | 1;
+    const result = new Array(hashes);
+    for (let i = 0; i < hashes; i++) result[i] = (h1 + Math.imul(i, h2) >>> 0) % bits;
+    return result;
+  };
+
+  return {
+    has(text) {
+      return positions(text).every(bit => (bytes[bit >> 3] & (1 << (bit & 7))) !== 0);
+    },
+
+    add(text) {
+      positions(text).forEach((bit) => {
+        bytes[bit >> 3] |= 1 << (bit & 7);
+      });
+      added += 1;
+    },
+
+    get count() {
+      return added;
+    },
+
+    toJSON() {
+      return { bits, hashes, count: added, data: toBase64(bytes) };
+    }
+  };
+};
+
+// Two generations of filters, each for capacity items. When the current one
+// is full it becomes the previous one and the oldest generation is dropped,
+// so memory is fixed, an item is remembered for at least capacity additions,
+// and the combined false-positive rate stays under falsePositiveRate.
+export const createAgingBloomFilter = ({ capacity, falsePositiveRate, current = null, previous = null }) => {
+  const size = bloomSize(capacity, falsePositiveRate / 2);
+  // A stored generation sized for other settings is dropped, not misread
+  const restore = data => (data && data.bits === size.bits && data.hashes === size.hashes ? createBloomFilter(data) : null);
+  let currentFilter = restore(current) || createBloomFilter(size);
+  let previousFilter = restore(previous);
+
+  return {
+    has(text) {
+      return currentFilter.has(text) || Boolean(previousFilter?.has(text));
+    },
+
+    add(text) {
+      if (currentFilter.count >= capacity) {
+        previousFilter = currentFilter;
+        currentFilter = createBloomFilter(size);
+      }
+      currentFilter.add(text);
+    },
+
+    toJSON() {
+      return { current: currentFilter.toJSON(), previous: previousFilter ? previousFilter.toJSON() : null };
+    }
+  };
+};
@@ -0,0 +1,57 @@
+// Deployment settings. A page can override any of them by defining
+// window.AIIC_CONFIG before the app loads, e.g.
+//   <script>window.AIIC_CONFIG = { telemetryUrl: 'http://localhost:4318/events' };</script>
+const overrides = (typeof window !== 'undefined' && window.AIIC_CONFIG) || {};
+
+export const config = {
+  // Telemetry collector endpoint; telemetry is disabled when unset
+  telemetryUrl: null,
+  // LLM gateway endpoint (server/llmGateway.mjs); when unset the browser
+  // calls the Messages API directly
+  llmGatewayUrl: null,
+  // Token the gateway requires (its GATEWAY_TOKEN). It is visible to anyone
+  // who loads the app, so it is not a secret; it only keeps other sites off
+  llmGatewayToken: null,
+  // On-device transcription: 'auto' uses it only where the browser has no
+  // SpeechRecognition, 'always' prefers it, 'off' disables it. It also needs
+  // the whisper.cpp WASM glue script and a ggml model to be hosted.
+  localSpeech: 'auto',
+  whisperScriptUrl: null,
+  whisperModelUrl: null,
+  // Share of the score that depends on speech delivery for dictated answers,
+  // e.g. 0.1. Off by default: typed answers have no delivery, so with it on
+  // the same answer scores differently by input mode, and the score
+  // percentiles mix the two.
+  deliveryWeight: 0,
+  // Offline service worker, served from the site root; null disables it
+  serviceWorkerUrl: '/sw.js',
+  // Days before role requirements researched for F-grade feedback are
+  // searched for again
+  roleResearchTtlDays: 30,
+  // USD per million tokens, for the usage ledger
+  modelPricing: {
+    "claude-sonnet-4-20250514": { input: 3, output: 15 },
+    default: { input: 3, output: 15 }
+  },
+  webSearchPricePerThousand: 10,
+  // Score distribution endpoint on the gateway (/v1/score-sketches), which
+  // merges all clients' scores; when unset they are kept in shared storage
+  scoreSketchUrl: null,
+  // Questions remembered per user so repeat interviews get new ones: about
+  // this many, then the oldest half is forgotten. The filter is sized so
+  // that no more than this share of new questions is wrongly skipped.
+  seenQuestionCapacity: 1000,
+  seenQuestionFalsePositiveRate: 0.01,
+  ...overrides,
+  // Per-user limits; null means no limit. From economyAt of a budget on, the
+  // app serves bank or fallback questions and heuristic per-answer feedback,
+  // and the final review skips web search; past the budget it makes no calls.
+  usageBudget: {
+    dailyTokens: null,
+    monthlyTokens: null,
+    dailyCostUsd: null,
+    monthlyCostUsd: null,
+    economyAt: 0.8,
+    ...overrides.usageBudget
+  }
+};
@@ -0,0 +1,154 @@
+// Speech delivery analytics computed while the candidate talks. Each update
+// does work proportional to the new text only, and the state is fixed-size:
+// a ring of per-second word counts for rolling pace, a counter per filler
+// phrase and a bucketed pause histogram.
+const now = () => (typeof performance !== 'undefined' ? performance.now() : Date.now());
+
+const PACE_WINDOW_SECONDS = 30;
+// A gap between recognition events longer than this counts as a pause
+const MIN_PAUSE_MS = 300;
+// Upper bounds of the pause histogram buckets; the last bucket is open-ended
+export const PAUSE_BUCKETS_MS = [600, 1200, 2500, 5000];
+// Pauses in the buckets from this index on (2.5 s and longer) count as long
+const LONG_PAUSE_BUCKET = 3;
+
+// Single words are matched on their own; phrases on consecutive words
+export const FILLER_WORDS = ['um', 'uh', 'er', 'like', 'basically', 'actually', 'literally'];
+export const FILLER_PHRASES = ['you know', 'i mean', 'sort of', 'kind of'];
+const fillerWordSet = new Set(FILLER_WORDS);
+
+const normalize = word => word.toLowerCase().replace(/[^a-z']/g, '');
+
+export const createDeliveryAnalyzer = ({ startedAt = now() } = {}) => {
+  const paceBuckets = new Uint16Array(PACE_WINDOW_SECONDS);
+  let paceSecond = 0;
+  let totalWords = 0;
+  const fillers = Object.fromEntries([...FILLER_WORDS, ...FILLER_PHRASES].map(f => [f, 0]));
+  let fillerCount = 0;
+  const pauses = new Uint32Array(PAUSE_BUCKETS_MS.length + 1);
+  let pauseCount = 0;
+  let pauseTotalMs = 0;
+  let longestPauseMs = 0;
+  let lastActivity = null;
+  let firstSpeech = null;
+  let segmentStart = null;
+  // Last word of the previous segment, so phrases can span segments
+  let previousWord = '';
+
+  const elapsed = t => t - startedAt;
+
+  // Moves the pace ring forward to the given second, clearing skipped slots
+  const advancePace = (second) => {
+    if (second <= paceSecond) return;
+    const steps = Math.min(second - paceSecond, PACE_WINDOW_SECONDS);
+    for (let i = 1; i <= steps; i++) {
+      paceBuckets[(paceSecond + i) % PACE_WINDOW_SECONDS] = 0;
+    }
+    paceSecond = second;
+  };
+
+  const addWordsAt = (count, fromMs, toMs) => {
+    // Spread the segment's words over the time it was spoken
+    for (let i = 0; i < count; i++) {
+      const t = count === 1 ? toMs : fromMs + ((toMs - fromMs) * i) / (count - 1);
+      const second = Math.max(0, Math.floor(t / 1000));
+      advancePace(second);
+      if (second > paceSecond - PACE_WINDOW_SECONDS) {
+        paceBuckets[second % PACE_WINDOW_SECONDS]++;
+      }
+    }
+    totalWords += count;
+  };
+
+  const countFillers = (words) => {
+    let prev = previousWord;
+    for (const word of words) {
+      if (fillerWordSet.has(word)) {
+        fillers[word]++;
+        fillerCount++;
+      }
+      const phrase = `${prev} ${word}`;
+      if (prev && phrase in fillers) {
+        fillers[phrase]++;
+        fillerCount++;
+        // "you know" shouldn't also leave "know" to pair with the next word
+        prev = '';
+        continue;
+      }
+      prev = word;
+    }
+    previousWord = prev;
+  };
+
+  return {
+    // Any recognition event (interim or final) means the candidate is talking
+    noteActivity(t = now()) {
+      const ms = elapsed(t);
+      if (lastActivity !== null) {
+        const gap = ms - lastActivity;
+        if (gap >= MIN_PAUSE_MS) {
+          let bucket = PAUSE_BUCKETS_MS.findIndex(limit => gap < limit);
+          if (bucket === -1) bucket = PAUSE_BUCKETS_MS.length;
+          pauses[bucket]++;
+          pauseCount++;
+          pauseTotalMs += gap;
+          if (gap > longestPauseMs) longestPauseMs = gap;
+        }
+      }
+      if (firstSpeech === null) firstSpeech = ms;
+      if (segmentStart === null) segmentStart = ms;
+      lastActivity = ms;
+    },
+
+    addFinal(text, t = now()) {
+      this.noteActivity(t);
+      const words = text.split(/\s+/).map(normalize).filter(Boolean);
+      const end = elapsed(t);
+      addWordsAt(words.length, segmentStart ?? end, end);
+      countFillers(words);
+      segmentStart = null;
+    },
+
+    snapshot(t = now()) {
+      const ms = elapsed(t);
+      const second = Math.floor(ms / 1000);
+      advancePace(second);
+      let windowWords = 0;
+      for (let i = 0; i < PACE_WINDOW_SECONDS; i++) windowWords += paceBuckets[i];
+      const speakingMs = firstSpeech === null ? 0 : Math.max(0, (lastActivity ?? ms) - firstSpeech);
+      const windowSeconds = Math.min(PACE_WINDOW_SECONDS, Math.max(1, ms / 1000));
+
+      return {
+        durationMs: Math.round(ms),
+        words: totalWords,
+        wpm: Math.round((windowWords * 60) / windowSeconds),
+        averageWpm: speakingMs > 0 ? Math.round((totalWords * 60000) / speakingMs) : 0,
+        fillerCount,
+        fillersPer100Words: totalWords > 0 ? +((fillerCount * 100) / totalWords).toFixed(1) : 0,
+        fillers: Object.fromEntries(Object.entries(fillers).filter(([, count]) => count > 0)),
+        pauseCount,
+        longPauses: pauses.slice(LONG_PAUSE_BUCKET).reduce((a, b) => a + b, 0),
+        longestPauseMs: Math.round(longestPauseMs),
+        averagePauseMs: pauseCount > 0 ? Math.round(pauseTotalMs / pauseCount) : 0,
+        pauseHistogram: Array.from(pauses)
+      };
+    }
+  };
+};
+
+// 0..1 rating of a stored snapshot: steady conversational pace, few fillers
+// and few long silences
+export const rateDelivery = (delivery) => {
+  if (!delivery || delivery.words === 0) return null;
+
+  const pace = delivery.averageWpm;
+  let paceScore = 1;
+  if (pace < 110) paceScore = Math.max(0, pace / 110);
+  else if (pace > 170) paceScore = Math.max(0, 1 - (pace - 170) / 80);
+
+  const fillerScore = Math.max(0, 1 - Math.max(0, delivery.fillersPer100Words - 2) / 8);
+  const minutes = Math.max(delivery.durationMs / 60000, 0.5);
+  const pauseScore = Math.max(0, 1 - delivery.longPauses / (4 * minutes));
+
+  return paceScore * 0.4 + fillerScore * 0.4 + pauseScore * 0.2;
+};
@@ -0,0 +1,206 @@
+import { createDatabase, requestToPromise, transactionDone } from './idb';
+import { interviewStore } from './interviewStore';
+import { metrics } from './metrics';
+
+// Autosave of the answer being written, so a refresh, crash or discarded tab
+// doesn't lose it. Nothing happens while the user types beyond noting that
+// the draft changed; the write runs in an idle period, at most once every
+// MIN_WRITE_INTERVAL_MS. Each write appends only the edit since the last one
+// (common prefix and suffix dropped) to a log in IndexedDB, on top of a base
+// copy of the text that is rewritten every MAX_DIFFS edits.
+const MIN_WRITE_INTERVAL_MS = 2000;
+// Write even if the browser never goes idle for this long
+const IDLE_TIMEOUT_MS = 10000;
+// Idle periods shorter than this are left to the browser
+const MIN_IDLE_BUDGET_MS = 4;
+const MAX_DIFFS = 50;
+
+const openDb = createDatabase('aiic-drafts', 1, (db) => {
+  db.createObjectStore('bases', { keyPath: 'owner' });
+  const diffs = db.createObjectStore('diffs', { keyPath: 'id', autoIncrement: true });
+  diffs.createIndex('owner', 'owner');
+});
+
+const now = () => performance.now();
+
+const requestIdle = typeof requestIdleCallback === 'function'
+  ? requestIdleCallback
+  : callback => setTimeout(() => callback({ didTimeout: true, timeRemaining: () => 0 }), 1);
+
+// Smallest single replacement that turns from into to
+export const diffText = (from, to) => {
+  const max = Math.min(from.length, to.length);
+  let start = 0;
+  while (start < max && from.charCodeAt(start) === to.charCodeAt(start)) start++;
+  let end = 0;
+  while (end < max - start && from.charCodeAt(from.length - 1 - end) === to.charCodeAt(to.length - 1 - end)) end++;
+  return { at: start, del: from.length - start - end, ins: to.slice(start, to.length - end) };
+};
+
+export const applyDiff = (text, { at, del, ins }) => text.slice(0, at) + ins + text.slice(at + del);
+
+// What is on disk: { owner, interviewId, questionIndex, text, diffs, diffBytes }
+let saved = null;
+let lastAnswer = '';
+let dirty = false;
+let scheduled = false;
+let paused = false;
+let lastWriteAt = -Infinity;
+// Writes and clears run one at a time, in order
+let pending = Promise.resolve();
+const stats = { writes: 0, diffs: 0, compactions: 0, bytes: 0 };
+
+const enqueue = (operation) => {
+  pending = pending.then(operation).catch(error => console.error('Draft autosave failed:', error));
+  return pending;
+};
+
+const deleteDiffs = (tx, owner) => {
+  const request = tx.objectStore('diffs').index('owner').openCursor(IDBKeyRange.only(owner));
+  request.onsuccess = () => {
+    const cursor = request.result;
+    if (cursor) {
+      cursor.delete();
+      cursor.continue();
+    }
+  };
+};
+
+const writeDraft = async () => {
+  const { currentUser, interviewId, currentQuestion, userAnswer, currentScreen } = interviewStore.getState();
+  if (!currentUser || currentScreen !== 'interview') return;
+  const owner = currentUser.email;
+  const sameDraft = saved && saved.owner === owner && saved.interviewId === interviewId && saved.questionIndex === currentQuestion;
+  if (sameDraft ? saved.text === userAnswer : userAnswer === '') return;
+
+  const start = now();
+  const db = await openDb();
+  const tx = db.transaction(['bases', 'diffs'], 'readwrite');
+  const diff = sameDraft ? diffText(saved.text, userAnswer) : null;
+  // Rewrite the base once the log is long, or larger than the text itself
+  if (!diff || saved.diffs >= MAX_DIFFS || saved.diffBytes + diff.ins.length > userAnswer.length) {
+    deleteDiffs(tx, owner);
+    tx.objectStore('bases').put({ owner, interviewId, questionIndex: currentQuestion, text: userAnswer });
+    await transactionDone(tx);
+    saved = { owner, interviewId, questionIndex: currentQuestion, text: userAnswer, diffs: 0, diffBytes: 0 };
+    stats.compactions += 1;
+    stats.bytes += userAnswer.length;
+  } else {
+    tx.objectStore('diffs').add({ owner, ...diff });
+    await transactionDone(tx);
+    saved = { ...saved, text: userAnswer, diffs: saved.diffs + 1, diffBytes: saved.diffBytes + diff.ins.length };
+    stats.diffs += 1;
+    stats.bytes += diff.ins.length;
+  }
+  stats.writes += 1;
+  metrics.record('draft.write_ms', now() - start);
+};
+
+// Writes now, skipping the idle wait and rate limit
+export const flushDraft = () => {
+  if (!dirty) return pending;
+  dirty = false;
+  lastWriteAt = now();
+  return enqueue(writeDraft);
+};
+
+const onIdle = (deadline) => {
+  if (paused) {
+    scheduled = false;
+    return;
+  }
+  if (!deadline.didTimeout && deadline.timeRemaining() < MIN_IDLE_BUDGET_MS) {
+    requestIdle(onIdle, { timeout: IDLE_TIMEOUT_MS });
+    return;
+  }
+  scheduled = false;
+  flushDraft().then(() => {
+    if (dirty) scheduleWrite();
+  });
+};
+
+const scheduleWrite = () => {
+  if (scheduled || paused) return;
+  scheduled = true;
+  const wait = Math.max(0, lastWriteAt + MIN_WRITE_INTERVAL_MS - now());
+  setTimeout(() => requestIdle(onIdle, { timeout: IDLE_TIMEOUT_MS }), wait);
+};
+
+// Drops the saved draft, e.g. once the answer has been submitted
+export const clearDraft = () => {
+  dirty = false;
+  const { currentUser } = interviewStore.getState();
+  if (!currentUser || typeof indexedDB === 'undefined') return Promise.resolve();
+  const owner = currentUser.email;
+  return enqueue(async () => {
+    const db = await openDb();
+    const tx = db.transaction(['bases', 'diffs'], 'readwrite');
+    tx.objectStore('bases').delete(owner);
+    deleteDiffs(tx, owner);
+    await transactionDone(tx);
+    if (saved?.owner === owner) saved = null;
+  });
+};
+
+// Rebuilds the draft for the given question, or returns null when the saved
+// one belongs to a different interview or question
+export const restoreDraft = async ({ email, interviewId, questionIndex }) => {
+  if (typeof indexedDB === 'undefined') return null;
+  try {
+    await pending;
+    const db = await openDb();
+    const tx = db.transaction(['bases', 'diffs']);
+    const [base, diffs] = await Promise.all([
+      requestToPromise(tx.objectStore('bases').get(email)),
+      requestToPromise(tx.objectStore('diffs').index('owner').getAll(IDBKeyRange.only(email)))
+    ]);
+    if (!base || base.interviewId !== interviewId || base.questionIndex !== questionIndex) return null;
+    const text = diffs.reduce(applyDiff, base.text);
+    saved = {
+      owner: email,
+      interviewId,
+      questionIndex,
+      text,
+      diffs: diffs.length,
+      diffBytes: diffs.reduce((sum, diff) => sum + diff.ins.length, 0)
+    };
+    lastAnswer = text;
+    return text;
+  } catch (error) {
+    console.error('Failed to restore draft:', error);
+    return null;
+  }
+};
+
+// Watches the answer in the store and saves it when the page is hidden
+export const startDraftAutosave = () => {
+  if (typeof indexedDB === 'undefined') return;
+  interviewStore.subscribe(() => {
+    const { userAnswer } = interviewStore.getState();
+    if (userAnswer === lastAnswer) return;
+    lastAnswer = userAnswer;
+    dirty = true;
+    scheduleWrite();
+  });
+  const flushOnHide = () => {
+    if (document.visibilityState === 'hidden') flushDraft();
+  };
+  document.addEventListener('visibilitychange', flushOnHide);
+  window.addEventListener('pagehide', () => flushDraft());
+};
+
+// Lets bench/draftAutosaveBenchmark.js compare typing with autosave on and off
+export const draftAutosave = {
+  stats,
+  pause() {
+    paused = true;
+  },
+  resume() {
+    paused = false;
+    if (dirty) scheduleWrite();
+  }
+};
+
+if (typeof window !== 'undefined') {
+  window.__draftAutosave = draftAutosave;
+}
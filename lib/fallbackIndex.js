@@ -0,0 +1,120 @@
+// Inverted tag index over the fallback question bank. Every question carries
+// tags ("generic", "family:software", "domain:testing", "competency:conflict")
+// and may be limited to some difficulties and levels. A query scores only the
+// questions on the posting lists of its tags, so its cost follows the number
+// of matching questions, not the size of the bank. No imports, so the
+// benchmark can load it in Node.
+const DIFFICULTIES = ['easy', 'medium', 'hard'];
+const LEVELS = ['entry', 'mid', 'senior'];
+const ALL_LEVELS_SHIFT = DIFFICULTIES.length;
+
+// Bit per allowed difficulty (low bits) and level (high bits); a missing
+// field allows all of them
+const allowedMask = (value, all) => {
+  if (value === undefined) return (1 << all.length) - 1;
+  return [].concat(value).reduce((mask, item) => mask | (1 << all.indexOf(item)), 0);
+};
+
+export const buildQuestionIndex = (questions) => {
+  const lists = new Map();
+  const eligibility = new Uint8Array(questions.length);
+  const competency = new Array(questions.length);
+
+  questions.forEach((question, id) => {
+    eligibility[id] = allowedMask(question.difficulty, DIFFICULTIES) |
+      (allowedMask(question.level, LEVELS) << ALL_LEVELS_SHIFT);
+    for (const tag of question.tags) {
+      if (!lists.has(tag)) lists.set(tag, []);
+      lists.get(tag).push(id);
+      if (tag.startsWith('competency:')) competency[id] = tag;
+    }
+  });
+
+  const postings = new Map();
+  for (const [tag, ids] of lists) postings.set(tag, Uint32Array.from(ids));
+
+  return {
+    questions,
+    postings,
+    eligibility,
+    competency,
+    // Scratch space reused by every query; only touched slots are reset
+    scores: new Float32Array(questions.length),
+    touched: new Uint32Array(questions.length)
+  };
+};
+
+// Picks count questions for a role: the best-scoring role-specific questions
+// for the given tags (at most maxPerCompetency of each competency, so the set
+// stays varied), after one generic opener and before generic questions that
+// fill the rest. With no matching tags this is the generic set for the
+// difficulty and level, in bank order. Questions for which skip(text) is true
+// are left out, except as generic filler when nothing else is left.
+export const selectQuestions = (index, {
+  tags = [],
+  difficulty,
+  jobLevel,
+  count = 10,
+  maxRoleSpecific = 6,
+  maxPerCompetency = 2,
+  skip = null
+}) => {
+  const { questions, postings, eligibility, competency, scores, touched } = index;
+  const required = (1 << DIFFICULTIES.indexOf(difficulty)) | (1 << (ALL_LEVELS_SHIFT + LEVELS.indexOf(jobLevel)));
+  const isEligible = id => (eligibility[id] & required) === required;
+  const isSkipped = id => Boolean(skip && skip(questions[id].text));
+
+  let touchedCount = 0;
+  for (const { tag, weight } of tags) {
+    const ids = postings.get(tag);
+    if (!ids) continue;
+    for (let i = 0; i < ids.length; i++) {
+      const id = ids[i];
+      if (!isEligible(id)) continue;
+      if (scores[id] === 0) touched[touchedCount++] = id;
+      scores[id] += weight;
+    }
+  }
+
+  // Keep a short ranked list (score desc, then bank order) instead of
+  // sorting every touched question
+  const keep = maxRoleSpecific * maxPerCompetency;
+  const ranked = [];
+  for (let i = 0; i < touchedCount; i++) {
+    const id = touched[i];
+    const score = scores[id];
+    if (ranked.length === keep && score <= scores[ranked[keep - 1]]) continue;
+    if (isSkipped(id)) continue;
+    let at = ranked.length;
+    while (at > 0 && (scores[ranked[at - 1]] < score || (scores[ranked[at - 1]] === score && ranked[at - 1] > id))) at--;
+    ranked.splice(at, 0, id);
+    if (ranked.length > keep) ranked.pop();
+  }
+
+  const roleSpecific = [];
+  const perCompetency = {};
+  for (const id of ranked) {
+    if (roleSpecific.length === maxRoleSpecific) break;
+    const key = competency[id] || '';
+    if ((perCompetency[key] || 0) >= maxPerCompetency) continue;
+    perCompetency[key] = (perCompetency[key] || 0) + 1;
+    roleSpecific.push(id);
+  }
+
+  for (let i = 0; i < touchedCount; i++) scores[touched[i]] = 0;
+
+  const generic = [];
+  const skipped = [];
+  const genericIds = postings.get('generic') || [];
+  for (let i = 0; i < genericIds.length && generic.length < count - roleSpecific.length; i++) {
+    if (!isEligible(genericIds[i])) continue;
+    if (isSkipped(genericIds[i])) skipped.push(genericIds[i]);
+    else generic.push(genericIds[i]);
+  }
+  generic.push(...skipped.slice(0, count - roleSpecific.length - generic.length));
+
+  const ordered = generic.length > 0
+    ? [generic[0], ...roleSpecific, ...generic.slice(1)]
+    : roleSpecific;
+  return ordered.slice(0, count).map(id => questions[id].text);
+};
@@ -0,0 +1,152 @@
+// Parses LLM feedback text into sections for rendering: the emoji-marked
+// answer feedback (✅ STRENGTHS, ⚠️ GAPS, 💡 WHAT TO SAY INSTEAD, 📋 IMPROVEMENT
+// TIPS) and the numbered, upper-case headings of the grade review
+// ("1. ASSESSMENT: ..."). Text that fits neither is kept as plain sections.
+//
+// The parser is incremental: append() only looks at the new characters, and
+// sections that are already complete keep their object identity, so a memoized
+// renderer only re-renders the section still being written.
+const EMOJI_SECTIONS = [
+  { marker: '✅', kind: 'strengths' },
+  { marker: '⚠️', kind: 'gaps' },
+  { marker: '⚠', kind: 'gaps' },
+  { marker: '💡', kind: 'suggestions' },
+  { marker: '📋', kind: 'tips' }
+];
+
+// "1. ASSESSMENT: text", "**WHAT WAS MISSING:**", "2. WHAT SOFTWARE ENGINEER HIRING MANAGERS LOOK FOR:"
+const HEADING_PATTERN = /^(?:\*\*)?(?:\d+[.)]\s*)?(?:\*\*)?([A-Z][A-Z0-9 '&/,()+-]{2,80}?)(?:\*\*)?:(?:\*\*)?\s*(.*)$/;
+const LIST_ITEM_PATTERN = /^(?:[-•*]|\d+[.)])\s+/;
+
+const classifyLine = (line) => {
+  const trimmed = line.trim();
+  for (const { marker, kind } of EMOJI_SECTIONS) {
+    if (trimmed.startsWith(marker)) {
+      const rest = trimmed.slice(marker.length).replace(/^\uFE0F/, '').trim();
+      const colon = rest.indexOf(':');
+      // "✅ STRENGTHS: text" has a title; "✅ Excellent answer length" doesn't
+      if (colon > 0 && rest.slice(0, colon) === rest.slice(0, colon).toUpperCase()) {
+        return { kind, title: rest.slice(0, colon).trim(), body: rest.slice(colon + 1).trim() };
+      }
+      return { kind, title: null, body: rest };
+    }
+  }
+  const heading = trimmed.match(HEADING_PATTERN);
+  if (heading && /[A-Z]{3}/.test(heading[1])) {
+    return { kind: 'heading', title: heading[1].trim(), body: heading[2].trim() };
+  }
+  return null;
+};
+
+const toLine = text => ({ text: text.replace(LIST_ITEM_PATTERN, ''), listItem: LIST_ITEM_PATTERN.test(text) });
+
+export const createFeedbackParser = () => {
+  let text = '';
+  // Characters after the last newline, not parsed into a section yet
+  let partial = '';
+  let sections = [];
+  let nextId = 0;
+
+  const openSection = (kind, title) => {
+    const section = { id: nextId++, kind, title, lines: [] };
+    sections = [...sections, section];
+    return section;
+  };
+
+  // Replaces the last section with a copy holding one more line
+  const addLine = (lineText) => {
+    const last = sections[sections.length - 1] || openSection('text', null);
+    const updated = { ...last, lines: [...last.lines, toLine(lineText)] };
+    sections = [...sections.slice(0, -1), updated];
+  };
+
+  const parseLine = (line) => {
+    const trimmed = line.trim();
+    if (!trimmed) {
+      // A blank line ends a plain paragraph, but not a titled section
+      const last = sections[sections.length - 1];
+      if (last && last.kind === 'text' && last.lines.length > 0) openSection('text', null);
+      return;
+    }
+    const header = classifyLine(trimmed);
+    if (header) {
+      openSection(header.kind, header.title);
+      if (header.body) addLine(header.body);
+      return;
+    }
+    addLine(trimmed);
+  };
+
+  // Sections including the line still being written, without committing it
+  const view = () => {
+    if (!partial.trim()) return sections.filter(s => s.lines.length > 0 || s.title);
+    const committed = sections;
+    const committedId = nextId;
+    parseLine(partial);
+    const withPartial = sections;
+    sections = committed;
+    nextId = committedId;
+    return withPartial.filter(s => s.lines.length > 0 || s.title);
+  };
+
+  let cached = { sections: [] };
+
+  return {
+    append(chunk) {
+      if (!chunk) return cached;
+      text += chunk;
+      const lines = (partial + chunk).split('\n');
+      partial = lines.pop();
+      lines.forEach(parseLine);
+      cached = { sections: view() };
+      return cached;
+    },
+    get text() {
+      return text;
+    },
+    get model() {
+      return cached;
+    }
+  };
+};
+
+// FNV-1a over UTF-16 code units; with the length it keys the parse cache
+export const hashText = (text) => {
+  let hash = 0x811c9dc5;
+  for (let i = 0; i < text.length; i++) {
+    hash ^= text.charCodeAt(i);
+    hash = Math.imul(hash, 0x01000193);
+  }
+  return `${(hash >>> 0).toString(36)}:${text.length}`;
+};
+
+const CACHE_SIZE = 200;
+const cache = new Map();
+// The most recently parsed text, so a longer version of it (streamed or
+// appended to) continues the same parser instead of starting over
+let latest = null;
+
+export const parseFeedback = (text) => {
+  if (!text) return { sections: [] };
+  const key = hashText(text);
+  const hit = cache.get(key);
+  if (hit && hit.text === text) {
+    cache.delete(key);
+    cache.set(key, hit);
+    return hit.model;
+  }
+
+  let parser;
+  if (latest && text.length > latest.text.length && text.startsWith(latest.text)) {
+    parser = latest;
+    parser.append(text.slice(parser.text.length));
+  } else {
+    parser = createFeedbackParser();
+    parser.append(text);
+  }
+  latest = parser;
+
+  cache.set(key, { text, model: parser.model });
+  if (cache.size > CACHE_SIZE) cache.delete(cache.keys().next().value);
+  return parser.model;
+};
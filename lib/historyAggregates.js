@@ -0,0 +1,92 @@
+// Running statistics over every interview a user has finished. History itself
+// keeps only the last ten entries; these aggregates cover all of them and are
+// updated with each new entry in constant time, so the history dashboard
+// never rescans records. No imports, so it can be tested from Node.
+const RECENT_SIZE = 10;
+// Weight of the newest interview in the exponentially weighted averages
+const EWMA_ALPHA = 0.3;
+
+export const emptyAggregates = () => ({
+  version: 1,
+  count: 0,
+  sum: 0,
+  best: null,
+  // Newest last; also used to ignore an entry that was already counted
+  recent: [],
+  recentSum: 0,
+  ewmaScore: null,
+  // Smoothed change in score from one interview to the next
+  ewmaDelta: 0,
+  grades: { A: 0, B: 0, C: 0, F: 0 },
+  byRole: {},
+  byDifficulty: {},
+  byLevel: {}
+});
+
+const gradeOf = (score) => {
+  if (score >= 90) return 'A';
+  if (score >= 70) return 'B';
+  if (score >= 50) return 'C';
+  return 'F';
+};
+
+const roleKey = name => (name || '').trim().toLowerCase().replace(/\s+/g, ' ');
+
+const addToBucket = (bucket, entry, extra = {}) => ({
+  ...extra,
+  count: (bucket?.count || 0) + 1,
+  sum: (bucket?.sum || 0) + entry.score,
+  best: Math.max(bucket?.best ?? 0, entry.score),
+  last: entry.score
+});
+
+// Returns the aggregates with entry added; the input is not modified
+export const addToAggregates = (aggregates, entry) => {
+  if (aggregates.recent.some(item => item.id === entry.id)) return aggregates;
+  const { score } = entry;
+  const previous = aggregates.recent[aggregates.recent.length - 1];
+  const recent = [...aggregates.recent, { id: entry.id, score }];
+  const dropped = recent.length > RECENT_SIZE ? recent.shift() : null;
+  const role = roleKey(entry.jobRole);
+  const grade = gradeOf(score);
+
+  return {
+    ...aggregates,
+    count: aggregates.count + 1,
+    sum: aggregates.sum + score,
+    best: !aggregates.best || score > aggregates.best.score
+      ? { score, id: entry.id, jobRole: entry.jobRole, date: entry.date }
+      : aggregates.best,
+    recent,
+    recentSum: aggregates.recentSum + score - (dropped ? dropped.score : 0),
+    ewmaScore: aggregates.ewmaScore === null ? score : aggregates.ewmaScore + EWMA_ALPHA * (score - aggregates.ewmaScore),
+    ewmaDelta: previous ? aggregates.ewmaDelta + EWMA_ALPHA * (score - previous.score - aggregates.ewmaDelta) : 0,
+    grades: { ...aggregates.grades, [grade]: aggregates.grades[grade] + 1 },
+    byRole: { ...aggregates.byRole, [role]: addToBucket(aggregates.byRole[role], entry, { name: entry.jobRole }) },
+    byDifficulty: { ...aggregates.byDifficulty, [entry.difficulty]: addToBucket(aggregates.byDifficulty[entry.difficulty], entry) },
+    byLevel: { ...aggregates.byLevel, [entry.jobLevel]: addToBucket(aggregates.byLevel[entry.jobLevel], entry) }
+  };
+};
+
+// For users whose history predates the aggregates: history is newest first
+export const aggregatesFromHistory = history => [...history].reverse().reduce(addToAggregates, emptyAggregates());
+
+const average = bucket => (bucket.count ? Math.round(bucket.sum / bucket.count) : 0);
+
+// Figures the dashboard shows
+export const summarizeAggregates = (aggregates) => ({
+  count: aggregates.count,
+  average: average(aggregates),
+  recentAverage: aggregates.recent.length ? Math.round(aggregates.recentSum / aggregates.recent.length) : 0,
+  recentCount: aggregates.recent.length,
+  trend: Math.round(aggregates.ewmaScore ?? 0),
+  improvementPerInterview: +aggregates.ewmaDelta.toFixed(1),
+  best: aggregates.best,
+  grades: aggregates.grades,
+  roles: Object.values(aggregates.byRole)
+    .map(bucket => ({ name: bucket.name, count: bucket.count, average: average(bucket), best: bucket.best }))
+    .sort((a, b) => b.count - a.count),
+  difficulties: ['easy', 'medium', 'hard']
+    .filter(difficulty => aggregates.byDifficulty[difficulty])
+    .map(difficulty => ({ difficulty, count: aggregates.byDifficulty[difficulty].count, average: average(aggregates.byDifficulty[difficulty]) }))
+});
@@ -0,0 +1,186 @@
+import { storage } from './storage';
+import { metrics } from './metrics';
+import { ndjsonStream, ndjsonRecords } from './ndjsonStream';
+import { listTranscripts, saveTranscript, hasTranscript } from './interviewTranscripts';
+import { emptyAggregates, addToAggregates } from './historyAggregates';
+
+// Export and import of a user's interviews as NDJSON, optionally gzipped, for
+// offline review or moving to another device. Records, in file order:
+//   header, stats, history entries (oldest first), progress, transcripts, end
+// Both directions stream, so no step holds more than a page of transcripts.
+// An import checkpoints its byte offset and resumes there when the same file
+// is chosen again; every record is idempotent, so replaying past the last
+// checkpoint is harmless.
+const FORMAT = 'aiic-history';
+const VERSION = 1;
+const TRANSCRIPT_PAGE = 20;
+const CHECKPOINT_EVERY = 50;
+const HISTORY_SIZE = 10;
+
+const readJson = async (key) => {
+  try {
+    const result = await storage.get(key, false);
+    return result && result.value ? JSON.parse(result.value) : null;
+  } catch (error) {
+    return null;
+  }
+};
+
+export const exportHistoryStream = (email, { gzip = false } = {}) => {
+  const stages = [
+    async () => [{ type: 'header', format: FORMAT, version: VERSION, user: email, exportedAt: new Date().toISOString() }],
+    async () => {
+      const stats = await readJson(`interview-stats-${email}`);
+      return stats ? [{ type: 'stats', stats }] : [];
+    },
+    async () => ((await readJson(`interview-history-${email}`)) || []).reverse().map(entry => ({ type: 'history', entry })),
+    async () => {
+      const progress = await readJson(`interview-progress-${email}`);
+      return progress ? [{ type: 'progress', progress }] : [];
+    }
+  ];
+  let stage = 0;
+  let afterId = null;
+  let count = 0;
+  let ended = false;
+
+  return ndjsonStream(async () => {
+    while (stage < stages.length) {
+      const records = await stages[stage++]();
+      if (records.length) {
+        count += records.length;
+        return records;
+      }
+    }
+    if (ended) return null;
+    const page = await listTranscripts(email, afterId, TRANSCRIPT_PAGE);
+    if (page.length === 0) {
+      ended = true;
+      return [{ type: 'end', records: count + 1 }];
+    }
+    afterId = page[page.length - 1].id;
+    count += page.length;
+    return page.map(({ owner, ...transcript }) => ({ type: 'transcript', transcript }));
+  }, { gzip });
+};
+
+// Streams the export to a file the user picks, where the File System Access
+// API exists; elsewhere it is collected into a Blob, which browsers keep on
+// disk rather than in the JS heap, and downloaded
+export const saveHistoryExport = async (email, { gzip = true } = {}) => {
+  const start = performance.now();
+  const name = `interview-history-${new Date().toISOString().slice(0, 10)}.ndjson${gzip ? '.gz' : ''}`;
+  if (window.showSaveFilePicker) {
+    const handle = await window.showSaveFilePicker({ suggestedName: name });
+    await exportHistoryStream(email, { gzip }).pipeTo(await handle.createWritable());
+  } else {
+    const blob = await new Response(exportHistoryStream(email, { gzip })).blob();
+    const url = URL.createObjectURL(blob);
+    const link = document.createElement('a');
+    link.href = url;
+    link.download = name;
+    link.click();
+    setTimeout(() => URL.revokeObjectURL(url), 0);
+  }
+  metrics.record('history.export_ms', performance.now() - start);
+};
+
+const isGzip = async (file) => {
+  const magic = new Uint8Array(await file.slice(0, 2).arrayBuffer());
+  return magic[0] === 0x1f && magic[1] === 0x8b;
+};
+
+// Imports an export into email's account. onProgress({ records }) is called
+// at each checkpoint. Resolves to { history, stats, records }.
+export const importHistoryFile = async (email, file, onProgress = () => {}) => {
+  const start = performance.now();
+  const checkpointKey = `history-import-${email}`;
+  const fingerprint = `${file.name}|${file.size}|${file.lastModified}`;
+  const checkpoint = await readJson(checkpointKey);
+  const resuming = checkpoint?.fingerprint === fingerprint;
+  const resumeAt = resuming ? checkpoint.offset : 0;
+  let records = resuming ? checkpoint.records : 0;
+
+  // A gzip stream can't be entered midway, so a resumed gzip import
+  // decompresses from the start and skips what was already applied
+  const gzip = await isGzip(file);
+  const source = gzip
+    ? file.stream().pipeThrough(new DecompressionStream('gzip'))
+    : file.slice(resumeAt).stream();
+
+  let history = (await readJson(`interview-history-${email}`)) || [];
+  let stats = await readJson(`interview-stats-${email}`);
+  let dirty = false;
+  let sinceCheckpoint = 0;
+  let ended = false;
+
+  const saveHistory = async () => {
+    if (!dirty) return;
+    await storage.set(`interview-history-${email}`, JSON.stringify(history), false);
+    await storage.set(`interview-stats-${email}`, JSON.stringify(stats), false);
+    dirty = false;
+  };
+
+  const persist = async (offset) => {
+    await saveHistory();
+    await storage.set(checkpointKey, JSON.stringify({ fingerprint, offset, records }), false);
+    sinceCheckpoint = 0;
+    onProgress({ records });
+  };
+
+  const apply = async (record) => {
+    switch (record.type) {
+      case 'header':
+        if (record.format !== FORMAT || record.version > VERSION) throw new Error('Not an interview history export');
+        break;
+      case 'stats':
+        // Totals can't be merged without double counting, so they are only
+        // taken on a device with none of its own
+        if (!stats || stats.count === 0) {
+          stats = record.stats;
+          dirty = true;
+        }
+        break;
+      case 'history': {
+        const { entry } = record;
+        // An interview this device already has, in history or as a transcript
+        if (history.some(item => item.id === entry.id) || await hasTranscript(email, entry.id)) break;
+        history = [...history, entry].sort((a, b) => b.id - a.id).slice(0, HISTORY_SIZE);
+        stats = addToAggregates(stats || emptyAggregates(), entry);
+        dirty = true;
+        break;
+      }
+      case 'progress':
+        if (!(await readJson(`interview-progress-${email}`))) {
+          await storage.set(`interview-progress-${email}`, JSON.stringify(record.progress), false);
+        }
+        break;
+      case 'transcript':
+        await saveTranscript(email, record.transcript);
+        break;
+      case 'end':
+        ended = true;
+        break;
+      default:
+        break;
+    }
+  };
+
+  await source.pipeThrough(ndjsonRecords(gzip ? 0 : resumeAt)).pipeTo(new WritableStream({
+    async write({ record, end }) {
+      if (end <= resumeAt) return;
+      await apply(record);
+      records += 1;
+      sinceCheckpoint += 1;
+      // History and stats are saved as soon as they change: a transcript
+      // saved after them would otherwise mark their entry as already imported
+      if (dirty || sinceCheckpoint >= CHECKPOINT_EVERY) await persist(end);
+    }
+  }));
+
+  if (!ended) throw new Error('The export file is incomplete');
+  await saveHistory();
+  await storage.delete(checkpointKey, false);
+  metrics.record('history.import_ms', performance.now() - start);
+  return { history, stats, records };
+};
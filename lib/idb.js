@@ -0,0 +1,33 @@
+// Small promise wrappers over IndexedDB shared by the modules that keep data
+// there (answer audio, the offline request queue).
+export const requestToPromise = (request) => new Promise((resolve, reject) => {
+  request.onsuccess = () => resolve(request.result);
+  request.onerror = () => reject(request.error);
+});
+
+export const transactionDone = (tx) => new Promise((resolve, reject) => {
+  tx.oncomplete = () => resolve();
+  tx.onerror = () => reject(tx.error);
+  tx.onabort = () => reject(tx.error);
+});
+
+// Returns a lazy opener: the database is opened on first use and the same
+// connection is shared afterwards. upgrade(db) creates the object stores.
+export const createDatabase = (name, version, upgrade) => {
+  let dbPromise = null;
+  return () => {
+    if (!dbPromise) {
+      dbPromise = new Promise((resolve, reject) => {
+        const request = indexedDB.open(name, version);
+        request.onupgradeneeded = () => upgrade(request.result);
+        request.onsuccess = () => resolve(request.result);
+        request.onerror = () => reject(request.error);
+      });
+      // Allow a later call to retry, e.g. after private-mode restrictions lift
+      dbPromise.catch(() => {
+        dbPromise = null;
+      });
+    }
+    return dbPromise;
+  };
+};
@@ -0,0 +1,1293 @@
+import { interviewStore } from './interviewStore';
+import { sessionClock, formatTime } from './sessionClock';
+import { loadFallbackQuestions } from './questionBank';
+import { findRoleQuestions } from './roleQuestionBank';
+import { preloadScreen } from '../screens';
+import { storage } from './storage';
+import { createMessage } from './llmClient';
+import { buildQuestionsRequest, buildFeedbackRequest, buildGradeRequest, responseText, parseQuestions } from './llmRequests';
+import { metrics } from './metrics';
+import { telemetry } from './telemetry';
+import { createTranscriptBuffer } from './transcriptBuffer';
+import { voiceManager } from './voiceManager';
+import { isLocalSpeechAvailable, startLocalTranscriber } from './localTranscriber';
+import { config } from './config';
+import { enqueueRequest, onQueuedResult, isRetryableError } from './llmQueue';
+import { createDeliveryAnalyzer, rateDelivery } from './deliveryAnalyzer';
+import { isAnswerAudioSupported, startAnswerRecording, deleteUserRecordings } from './answerAudio';
+import { clearDraft, restoreDraft } from './draftAutosave';
+import { getRoleResearch, researchRole } from './roleResearch';
+import { getBudgetLevel } from './usageLedger';
+import { emptyAggregates, addToAggregates, aggregatesFromHistory } from './historyAggregates';
+import { getScoreStanding, recordScore } from './scoreDistribution';
+import { saveTranscript, getTranscript } from './interviewTranscripts';
+import { saveHistoryExport, importHistoryFile } from './historyTransfer';
+import { loadSeenQuestions, markQuestionsSeen } from './seenQuestions';
+
+// Handlers for the whole app. They read the latest state from the store at
+// call time instead of closing over a render, so screens can import them
+// directly without re-creating them on every render.
+const { getState, setState } = interviewStore;
+
+const setter = (key) => (value) => setState({ [key]: value });
+
+export const setCurrentScreen = setter('currentScreen');
+export const setIsAuthenticated = setter('isAuthenticated');
+export const setCurrentUser = setter('currentUser');
+export const setLoginEmail = setter('loginEmail');
+export const setLoginPassword = setter('loginPassword');
+export const setSignupName = setter('signupName');
+export const setSignupEmail = setter('signupEmail');
+export const setSignupPassword = setter('signupPassword');
+export const setSignupConfirmPassword = setter('signupConfirmPassword');
+export const setAuthError = setter('authError');
+export const setHasSavedProgress = setter('hasSavedProgress');
+export const setJobRole = setter('jobRole');
+export const setJobLevel = setter('jobLevel');
+export const setDifficulty = setter('difficulty');
+export const setInterviewId = setter('interviewId');
+export const setCurrentQuestion = setter('currentQuestion');
+export const setUserAnswer = setter('userAnswer');
+export const setAnswers = setter('answers');
+export const setFeedback = setter('feedback');
+export const setInterviewHistory = setter('interviewHistory');
+export const setHistoryStats = setter('historyStats');
+export const setHistoryTransfer = setter('historyTransfer');
+export const setOverallScore = setter('overallScore');
+export const setScoreStanding = setter('scoreStanding');
+export const setGradeFeedback = setter('gradeFeedback');
+export const setIsLoadingFeedback = setter('isLoadingFeedback');
+export const setInterviewQuestions = setter('interviewQuestions');
+export const setIsLoadingQuestions = setter('isLoadingQuestions');
+export const setInterviewMode = setter('interviewMode');
+export const setIsRecording = setter('isRecording');
+export const setIsSpeaking = setter('isSpeaking');
+export const setAnswerRecordings = setter('answerRecordings');
+export const setLiveDelivery = setter('liveDelivery');
+export const setAnswerDelivery = setter('answerDelivery');
+
+// Speech engine handles aren't rendered, so they stay out of the store
+let mediaRecorder = null;
+let transcriptBuffer = null;
+let audioCapture = null;
+let deliveryAnalyzer = null;
+let deliveryTimer = null;
+
+// Restore the signed-in user on mount
+export const restoreSession = async () => {
+  try {
+    const result = await storage.get('current-user', false);
+    if (result && result.value) {
+      const user = JSON.parse(result.value);
+      setCurrentUser(user);
+      setIsAuthenticated(true);
+      setCurrentScreen('home');
+      await loadUserHistory(user.email);
+      await checkSavedProgress(user.email);
+    }
+  } catch (error) {
+    console.log('No authenticated user:', error);
+  }
+};
+
+// Load history from storage
+export const loadUserHistory = async (userEmail) => {
+  try {
+    const result = await storage.get(`interview-history-${userEmail}`, false);
+    if (result && result.value) {
+      setInterviewHistory(JSON.parse(result.value));
+    }
+  } catch (error) {
+    console.log('No history found:', error);
+  }
+  await loadHistoryStats(userEmail);
+};
+
+// Running statistics over all finished interviews (lib/historyAggregates.js).
+// Built once from the stored history for users who predate them.
+const loadHistoryStats = async (userEmail) => {
+  try {
+    const result = await storage.get(`interview-stats-${userEmail}`, false);
+    if (result && result.value) {
+      setHistoryStats(JSON.parse(result.value));
+      return;
+    }
+  } catch (error) {
+    console.log('No history stats found:', error);
+  }
+  const { interviewHistory } = getState();
+  if (interviewHistory.length === 0) {
+    setHistoryStats(null);
+    return;
+  }
+  const stats = aggregatesFromHistory(interviewHistory);
+  setHistoryStats(stats);
+  try {
+    await storage.set(`interview-stats-${userEmail}`, JSON.stringify(stats), false);
+  } catch (error) {
+    console.error('Failed to save history stats:', error);
+  }
+};
+
+export const handleLogin = async () => {
+  const { loginEmail, loginPassword } = getState();
+  setAuthError('');
+  preloadScreen('home');
+  
+  if (!loginEmail || !loginPassword) {
+    setAuthError('Please fill in all fields');
+    return;
+  }
+
+  try {
+    let result;
+    try {
+      result = await storage.get(`user-${loginEmail}`, false);
+    } catch (e) {
+      setAuthError('Account not found. Please sign up first.');
+      return;
+    }
+
+    if (!result || !result.value) {
+      setAuthError('Account not found. Please sign up first.');
+      return;
+    }
+
+    const user = JSON.parse(result.value);
+    if (user.password !== loginPassword) {
+      setAuthError('Incorrect password');
+      return;
+    }
+
+    setCurrentUser(user);
+    setIsAuthenticated(true);
+    await storage.set('current-user', JSON.stringify(user), false);
+    setCurrentScreen('home');
+    setLoginEmail('');
+    setLoginPassword('');
+    await loadUserHistory(user.email);
+    await checkSavedProgress(user.email);
+  } catch (error) {
+    console.error('Login error:', error);
+    setAuthError('Login failed. Please try again.');
+  }
+};
+
+export const handleSignup = async () => {
+  const { signupName, signupEmail, signupPassword, signupConfirmPassword } = getState();
+  setAuthError('');
+
+  if (!signupName || !signupEmail || !signupPassword || !signupConfirmPassword) {
+    setAuthError('Please fill in all fields');
+    return;
+  }
+
+  if (signupPassword !== signupConfirmPassword) {
+    setAuthError('Passwords do not match');
+    return;
+  }
+
+  if (signupPassword.length < 6) {
+    setAuthError('Password must be at least 6 characters');
+    return;
+  }
+
+  const emailRegex = /^[^\s@]+@[^\s@]+\.[^\s@]+$/;
+  if (!emailRegex.test(signupEmail)) {
+    setAuthError('Please enter a valid email address');
+    return;
+  }
+
+  try {
+    // Check if user exists
+    let existingUser;
+    try {
+      existingUser = await storage.get(`user-${signupEmail}`, false);
+    } catch (e) {
+      // User doesn't exist, which is what we want
+      existingUser = null;
+    }
+
+    if (existingUser && existingUser.value) {
+      setAuthError('An account with this email already exists');
+      return;
+    }
+
+    const newUser = {
+      name: signupName,
+      email: signupEmail,
+      password: signupPassword,
+      createdAt: new Date().toISOString()
+    };
+
+    // Store user data
+    const userResult = await storage.set(`user-${signupEmail}`, JSON.stringify(newUser), false);
+    if (!userResult) {
+      throw new Error('Failed to create account');
+    }
+
+    const sessionResult = await storage.set('current-user', JSON.stringify(newUser), false);
+    if (!sessionResult) {
+      throw new Error('Failed to create session');
+    }
+    
+    setCurrentUser(newUser);
+    setIsAuthenticated(true);
+    setCurrentScreen('home');
+    setSignupName('');
+    setSignupEmail('');
+    setSignupPassword('');
+    setSignupConfirmPassword('');
+  } catch (error) {
+    console.error('Signup error:', error);
+    setAuthError('Signup failed. Please try again or use a different email.');
+  }
+};
+
+export const handleLogout = async () => {
+  try {
+    await storage.delete('current-user', false);
+  } catch (error) {
+    console.error('Logout error:', error);
+  }
+  setCurrentUser(null);
+  setIsAuthenticated(false);
+  setCurrentScreen('login');
+  setInterviewHistory([]);
+  setHistoryStats(null);
+  setHistoryTransfer(null);
+  setLoginEmail('');
+  setLoginPassword('');
+};
+
+// Pre-generated questions for a known role, or null to ask the LLM
+const findBankQuestions = async (jobRole, jobLevel, difficulty) => {
+  try {
+    const match = await findRoleQuestions(jobRole, jobLevel, difficulty);
+    if (match) {
+      telemetry.track('question_bank_hit', { role: match.role, jobLevel, difficulty, similarity: match.similarity });
+      return match.questions;
+    }
+  } catch (error) {
+    console.error('Question bank lookup failed:', error);
+  }
+  return null;
+};
+
+const noneSeen = { has: () => false };
+
+// Questions the signed-in user has already been asked (lib/seenQuestions.js)
+const loadSeenFilter = async () => {
+  const { currentUser } = getState();
+  if (!currentUser) return noneSeen;
+  try {
+    return await loadSeenQuestions(currentUser.email);
+  } catch (error) {
+    console.error('Failed to load seen questions:', error);
+    return noneSeen;
+  }
+};
+
+// Swaps out only the questions the user has seen, keeping the rest in place.
+// Replacements are generated when calls are allowed, else taken from the
+// fallback bank; a repeat stays if neither has anything new.
+const replaceSeenQuestions = async (questions, seen, { jobRole, jobLevel, difficulty, generate }) => {
+  const repeated = questions.map(question => seen.has(question));
+  const repeatCount = repeated.filter(Boolean).length;
+  if (repeatCount === 0) return questions;
+  metrics.record('questions.repeats', repeatCount);
+  const isUsable = question => !seen.has(question) && !questions.includes(question);
+
+  let replacements = [];
+  if (generate) {
+    try {
+      const data = await createMessage('questions', buildQuestionsRequest(jobRole, jobLevel, difficulty, questions));
+      replacements = parseQuestions(responseText(data)).filter(isUsable);
+    } catch (error) {
+      console.error('Failed to replace repeated questions:', error);
+    }
+  }
+  if (replacements.length < repeatCount) {
+    try {
+      const fallback = await loadFallbackQuestions(difficulty, jobLevel, jobRole, { skip: question => !isUsable(question) });
+      replacements.push(...fallback.filter(question => isUsable(question) && !replacements.includes(question)));
+    } catch (error) {
+      console.error('Failed to load fallback questions:', error);
+    }
+  }
+
+  let next = 0;
+  return questions.map((question, i) => (repeated[i] && next < replacements.length ? replacements[next++] : question));
+};
+
+export const generateInterviewQuestions = async (jobRole, jobLevel, difficulty) => {
+  setIsLoadingQuestions(true);
+  let seen = noneSeen;
+  try {
+    let budgetLevel;
+    let bankQuestions;
+    [seen, budgetLevel, bankQuestions] = await Promise.all([
+      loadSeenFilter(),
+      getBudgetLevel(),
+      findBankQuestions(jobRole, jobLevel, difficulty)
+    ]);
+    const context = { jobRole, jobLevel, difficulty, generate: budgetLevel === 'normal' };
+
+    if (bankQuestions) {
+      setInterviewQuestions(await replaceSeenQuestions(bankQuestions, seen, context));
+      return;
+    }
+
+    // Near or over the usage budget, questions come from the local bank
+    if (budgetLevel !== 'normal') {
+      telemetry.track('budget_degraded', { callType: 'questions', level: budgetLevel });
+      await applyFallbackQuestions(jobRole, difficulty, jobLevel, seen);
+      return;
+    }
+
+    const data = await createMessage('questions', buildQuestionsRequest(jobRole, jobLevel, difficulty));
+    
+    // Parse questions from the response
+    const questionLines = parseQuestions(responseText(data));
+
+    if (questionLines.length >= 10) {
+      // The gateway caches question sets, so a repeat user can get the same set
+      setInterviewQuestions(await replaceSeenQuestions(questionLines.slice(0, 10), seen, context));
+    } else {
+      // Fallback to generic questions if parsing fails
+      await applyFallbackQuestions(jobRole, difficulty, jobLevel, seen);
+    }
+  } catch (error) {
+    console.error('Error generating questions:', error);
+    // Fallback to role-specific questions
+    await applyFallbackQuestions(jobRole, difficulty, jobLevel, seen);
+  } finally {
+    setIsLoadingQuestions(false);
+    telemetry.track('question_set', { jobLevel, difficulty });
+    // In finally, so bank and budget-degraded question sets are marked too
+    const { currentUser, interviewQuestions } = getState();
+    if (currentUser) markQuestionsSeen(currentUser.email, interviewQuestions);
+  }
+};
+
+const applyFallbackQuestions = async (jobRole, difficulty, jobLevel, seen) => {
+  telemetry.track('fallback', { callType: 'questions', jobLevel, difficulty });
+  try {
+    setInterviewQuestions(await loadFallbackQuestions(difficulty, jobLevel, jobRole, { skip: seen.has }));
+  } catch (error) {
+    console.error('Failed to load fallback questions:', error);
+    setInterviewQuestions([]);
+  }
+};
+
+export const calculateScore = (answers, feedback, difficulty, sessionTime, questionTimes = [], delivery = [], deliveryWeight = config.deliveryWeight) => {
+  let score = 0;
+
+  // Answer quality scoring (70 points total)
+  answers.forEach((answer) => {
+    const wordCount = answer.trim().split(/\s+/).length;
+    
+    // Length scoring (14 points per answer)
+    if (wordCount >= 100) score += 14;
+    else if (wordCount >= 50) score += 10;
+    else if (wordCount >= 30) score += 6;
+    else score += 2;
+
+    // Detail scoring (check for examples, specific details) - 3 points
+    if (answer.toLowerCase().includes('example') || 
+        answer.toLowerCase().includes('for instance') ||
+        answer.toLowerCase().includes('specifically')) {
+      score += 3;
+    }
+
+    // Personal experience (use of "I", "my", "we") - 3 points
+    const personalWords = (answer.match(/\b(i|my|we|our)\b/gi) || []).length;
+    if (personalWords >= 5) score += 3;
+  });
+
+  // Time efficiency bonus (10 points), judged per question when lap times are available
+  if (questionTimes.length === answers.length && answers.length > 0) {
+    let timeScore = 0;
+    questionTimes.forEach((seconds) => {
+      if (seconds >= 60 && seconds <= 180) timeScore += 10;
+      else if (seconds >= 30 && seconds <= 240) timeScore += 5;
+    });
+    score += timeScore / questionTimes.length;
+  } else {
+    const avgTimePerQuestion = sessionTime / answers.length;
+    if (avgTimePerQuestion >= 60 && avgTimePerQuestion <= 180) {
+      score += 10;
+    } else if (avgTimePerQuestion >= 30 && avgTimePerQuestion <= 240) {
+      score += 5;
+    }
+  }
+
+  // Delivery weighting: dictated answers with poor pace, many fillers or long
+  // silences scale the score down by at most deliveryWeight
+  const deliveryRatings = Array.from(delivery, rateDelivery).filter(rating => rating !== null);
+  if (deliveryWeight > 0 && deliveryRatings.length > 0) {
+    const averageRating = deliveryRatings.reduce((sum, rating) => sum + rating, 0) / deliveryRatings.length;
+    score *= 1 - deliveryWeight * (1 - averageRating);
+  }
+
+  // Difficulty multiplier
+  const difficultyMultipliers = { easy: 0.85, medium: 1.0, hard: 1.15 };
+  score = Math.min(100, Math.round(score * difficultyMultipliers[difficulty]));
+
+  return score;
+};
+
+export const getScoreCategory = (score) => {
+  if (score >= 90) return { 
+    text: 'Excellent!', 
+    grade: 'A',
+    color: 'text-green-600', 
+    bg: 'bg-green-50', 
+    border: 'border-green-200' 
+  };
+  if (score >= 70) return { 
+    text: 'Almost There!', 
+    grade: 'B',
+    color: 'text-blue-600', 
+    bg: 'bg-blue-50', 
+    border: 'border-blue-200' 
+  };
+  if (score >= 50) return { 
+    text: 'Get More Practice', 
+    grade: 'C',
+    color: 'text-yellow-600', 
+    bg: 'bg-yellow-50', 
+    border: 'border-yellow-200' 
+  };
+  return { 
+    text: 'Fail - Needs Improvement', 
+    grade: 'F',
+    color: 'text-red-600', 
+    bg: 'bg-red-50', 
+    border: 'border-red-200' 
+  };
+};
+
+// Who a percentile compares against, for display
+export const describeStanding = (standing, jobRole, jobLevel, difficulty) => {
+  if (standing.basis === 'role') return `${standing.count} ${jobRole} interviews at ${jobLevel} level, ${difficulty} difficulty`;
+  if (standing.basis === 'level') return `${standing.count} ${jobLevel}-level interviews at ${difficulty} difficulty`;
+  return `${standing.count} interviews at ${difficulty} difficulty`;
+};
+
+// Review assembled from the per-answer notes, for when no API call may be made
+const localGradeFeedback = (score, feedback) => {
+  const category = getScoreCategory(score);
+  const gaps = new Map();
+  feedback.flat().filter(item => item.type === 'warning').forEach((item) => {
+    const gap = item.text.replace(/^⚠️\s*(GAP:\s*)?/, '').split('. ')[0];
+    gaps.set(gap, (gaps.get(gap) || 0) + 1);
+  });
+  const topGaps = [...gaps.entries()].sort((a, b) => b[1] - a[1]).slice(0, 3);
+
+  return `${category.text} You scored ${score}/100.
+
+Your usage budget is used up, so this review was put together on your device from the notes on each answer rather than by the AI coach.
+
+${topGaps.length ? `What came up most often:
+${topGaps.map(([gap, count]) => `- ${gap} (${count} of ${feedback.length} answers)`).join('\n')}` : 'No recurring gaps were found in your answers.'}
+
+Use the STAR structure, name the tools and methods you used, and quantify your results.`;
+};
+
+export const generateGradeFeedback = async (score, answers, jobRole, jobLevel, difficulty) => {
+  setIsLoadingFeedback(true);
+  const grade = getScoreCategory(score).grade;
+  
+  try {
+    const budgetLevel = await getBudgetLevel();
+    if (budgetLevel === 'exhausted') {
+      telemetry.track('budget_degraded', { callType: 'grade', level: budgetLevel });
+      setGradeFeedback(localGradeFeedback(score, getState().feedback));
+      return;
+    }
+
+    // A failing grade is given the role's requirements: cached research if
+    // there is some, else a search of its own, skipped when the budget is
+    // running low
+    const search = budgetLevel === 'normal';
+    const start = performance.now();
+    const cached = grade === 'F' ? await getRoleResearch(jobRole, jobLevel) : null;
+    const research = cached || (grade === 'F' && search ? await researchRole(jobRole, jobLevel) : null);
+    const data = await createMessage('grade', buildGradeRequest({
+      grade, score, answers, jobRole, jobLevel, research, search
+    }));
+    
+    if (grade === 'F') {
+      const latencyMs = performance.now() - start;
+      metrics.record(cached ? 'grade.f_cached_ms' : 'grade.f_search_ms', latencyMs);
+      telemetry.track('role_research', { hit: Boolean(cached), latencyMs: Math.round(latencyMs) });
+    }
+    setGradeFeedback(responseText(data));
+  } catch (error) {
+    console.error('Error generating feedback:', error);
+    telemetry.track('fallback', { callType: 'grade', grade });
+    setGradeFeedback('Unable to generate detailed feedback at this time. Please review your answers and try again.');
+  } finally {
+    setIsLoadingFeedback(false);
+  }
+};
+
+export const startInterview = async () => {
+  const { jobRole, jobLevel, difficulty } = getState();
+  if (!jobRole.trim()) {
+    alert('Please enter a job role');
+    return;
+  }
+  
+  setIsLoadingQuestions(true);
+  setCurrentScreen('loading');
+  preloadScreen('interview');
+  
+  // Generate custom questions for the job role
+  await generateInterviewQuestions(jobRole, jobLevel, difficulty);
+
+  if (getState().interviewQuestions.length === 0) {
+    alert('Could not load interview questions. Please check your connection and try again.');
+    setCurrentScreen('home');
+    return;
+  }
+
+  // Recordings from the previous interview are no longer referenced
+  const { currentUser } = getState();
+  if (currentUser && isAnswerAudioSupported()) {
+    deleteUserRecordings(currentUser.email).catch(error => console.error('Failed to clear old recordings:', error));
+  }
+  
+  clearDraft();
+  setCurrentScreen('interview');
+  setInterviewId(Date.now());
+  setCurrentQuestion(0);
+  setAnswers([]);
+  setFeedback([]);
+  setAnswerRecordings([]);
+  setAnswerDelivery([]);
+  setLiveDelivery(null);
+  setScoreStanding(null);
+  sessionClock.start();
+  telemetry.track('interview_start', { jobLevel, difficulty });
+  if (getState().interviewMode === 'voice') {
+    speakQuestion(0);
+  }
+  
+  // Save initial interview state
+  await saveInterviewProgress(0, [], [], 0, []);
+};
+
+export const saveInterviewProgress = async (questionIndex, answersArray, feedbackArray, time, questionTimes) => {
+  const { currentUser, interviewId, jobRole, jobLevel, difficulty, interviewQuestions, answerRecordings, answerDelivery } = getState();
+  if (!currentUser) return;
+  
+  const progressData = {
+    interviewId,
+    jobRole,
+    jobLevel,
+    difficulty,
+    interviewQuestions,
+    currentQuestion: questionIndex,
+    answers: answersArray,
+    feedback: feedbackArray,
+    sessionTime: time,
+    questionTimes,
+    answerRecordings,
+    answerDelivery,
+    lastUpdated: new Date().toISOString()
+  };
+  
+  try {
+    await storage.set(`interview-progress-${currentUser.email}`, JSON.stringify(progressData), false);
+  } catch (error) {
+    console.error('Failed to save progress:', error);
+  }
+};
+
+export const loadInterviewProgress = async (userEmail) => {
+  const email = userEmail || getState().currentUser?.email;
+  if (!email) return null;
+  
+  try {
+    const result = await storage.get(`interview-progress-${email}`, false);
+    if (result && result.value) {
+      return JSON.parse(result.value);
+    }
+  } catch (error) {
+    console.log('No saved progress found:', error);
+  }
+  return null;
+};
+
+export const clearInterviewProgress = async () => {
+  const { currentUser } = getState();
+  if (!currentUser) return;
+  
+  try {
+    await storage.delete(`interview-progress-${currentUser.email}`, false);
+    setHasSavedProgress(false);
+  } catch (error) {
+    console.error('Failed to clear progress:', error);
+  }
+};
+
+export const resumeInterview = async () => {
+  const progress = await loadInterviewProgress(getState().currentUser?.email);
+  if (progress && !progress.finalized) {
+    setInterviewId(progress.interviewId ?? Date.now());
+    setJobRole(progress.jobRole);
+    setJobLevel(progress.jobLevel);
+    setDifficulty(progress.difficulty);
+    if (progress.interviewQuestions?.length) {
+      setInterviewQuestions(progress.interviewQuestions);
+    }
+    setCurrentQuestion(progress.currentQuestion);
+    setAnswers(progress.answers);
+    setFeedback(progress.feedback);
+    setAnswerRecordings(progress.answerRecordings || []);
+    setAnswerDelivery(progress.answerDelivery || []);
+    setLiveDelivery(null);
+    // The answer that was being written when the page went away
+    const draft = await restoreDraft({
+      email: getState().currentUser.email,
+      interviewId: progress.interviewId,
+      questionIndex: progress.currentQuestion
+    });
+    setUserAnswer(draft || '');
+    sessionClock.start(progress.sessionTime, progress.questionTimes || []);
+    setCurrentScreen('interview');
+    setHasSavedProgress(false);
+    if (getState().interviewMode === 'voice') {
+      speakQuestion(progress.currentQuestion);
+    }
+  }
+};
+
+export const submitAnswer = async () => {
+  const { userAnswer, answers, feedback, currentQuestion, interviewQuestions } = getState();
+  if (!userAnswer.trim()) {
+    alert('Please provide an answer');
+    return;
+  }
+
+  // Dictation still running belongs to this answer; stop it so its late
+  // results don't land in the next one, and store the last take before the
+  // snapshot is saved and the clock is lapped
+  const audioStopped = stopRecording();
+  transcriptBuffer = null;
+  await audioStopped;
+  stopDeliveryTracking();
+
+  const questionSeconds = sessionClock.lapQuestion();
+  telemetry.track('question_answered', { questionIndex: currentQuestion, seconds: questionSeconds });
+  const newAnswers = [...answers, userAnswer];
+  setAnswers(newAnswers);
+  const newDelivery = [...getState().answerDelivery];
+  newDelivery[currentQuestion] = getState().liveDelivery;
+  setAnswerDelivery(newDelivery);
+  setLiveDelivery(null);
+  
+  // Get AI-powered feedback for this specific answer
+  const answerFeedback = await getFeedback(userAnswer, currentQuestion, interviewQuestions[currentQuestion]);
+  const newFeedback = [...feedback, answerFeedback];
+  setFeedback(newFeedback);
+  
+  setUserAnswer('');
+
+  if (currentQuestion < interviewQuestions.length - 1) {
+    const nextQuestion = currentQuestion + 1;
+    setCurrentQuestion(nextQuestion);
+    sessionClock.beginQuestion();
+    if (getState().interviewMode === 'voice') {
+      speakQuestion(nextQuestion);
+    }
+    if (nextQuestion === interviewQuestions.length - 1) {
+      preloadScreen('results');
+    }
+    
+    // Save progress after each answer; the draft is only dropped once the
+    // answer is in the saved progress
+    await saveInterviewProgress(nextQuestion, newAnswers, newFeedback, sessionClock.getSeconds(), sessionClock.getQuestionTimes());
+    clearDraft();
+  } else {
+    await finalizeInterview(newAnswers, newFeedback, newDelivery);
+  }
+};
+
+// Last answer: the results screen opens as soon as the score is known, then
+// the interview is committed to history while the grade feedback is fetched.
+// Neither waits for the other and a failure in one doesn't affect the other.
+const finalizeInterview = async (answers, feedback, delivery) => {
+  const { currentUser, interviewId, jobRole, jobLevel, difficulty, interviewQuestions } = getState();
+  const finalizeStart = performance.now();
+  sessionClock.stop();
+  const sessionTime = sessionClock.getSeconds();
+  const score = calculateScore(answers, feedback, difficulty, sessionTime, sessionClock.getQuestionTimes(), delivery);
+  setOverallScore(score);
+  setScoreStanding(null);
+  setGradeFeedback(null);
+  setIsLoadingFeedback(true);
+  setCurrentScreen('results');
+  metrics.record('finalize.results_ms', performance.now() - finalizeStart);
+  telemetry.track('interview_complete', {
+    jobLevel,
+    difficulty,
+    questions: answers.length,
+    durationSeconds: sessionTime,
+    score
+  });
+
+  const entry = {
+    id: interviewId ?? Date.now(),
+    jobRole,
+    jobLevel,
+    difficulty,
+    score,
+    date: new Date().toLocaleDateString(),
+    time: formatTime(sessionTime),
+    answersCount: answers.length
+  };
+  const [committed, , ranked] = await Promise.allSettled([
+    currentUser ? commitInterview(currentUser.email, entry) : Promise.resolve(),
+    generateGradeFeedback(score, answers, jobRole, jobLevel, difficulty),
+    rankScore({ jobRole, jobLevel, difficulty }, score)
+  ]);
+  if (committed.status === 'rejected') {
+    console.error('Failed to save interview:', committed.reason);
+  } else if (currentUser && ranked.value) {
+    await annotateHistoryEntry(currentUser.email, entry.id, { percentile: ranked.value.percentile });
+  }
+  if (currentUser) {
+    try {
+      await saveTranscript(currentUser.email, {
+        ...entry,
+        percentile: ranked.value?.percentile ?? null,
+        questions: interviewQuestions,
+        answers,
+        // Queued feedback replayed during finalization is already in state
+        feedback: getState().interviewId === interviewId ? getState().feedback : feedback,
+        delivery,
+        gradeFeedback: getState().gradeFeedback
+      });
+    } catch (error) {
+      console.error('Failed to save transcript:', error);
+    }
+  }
+  metrics.record('finalize.total_ms', performance.now() - finalizeStart);
+};
+
+// Where the score falls among other candidates' before it is added to the
+// distribution itself
+const rankScore = async (context, score) => {
+  const standing = await getScoreStanding(context, score);
+  setScoreStanding(standing);
+  await recordScore(context, score);
+  return standing;
+};
+
+// Adds fields known only after the commit, such as the percentile
+const annotateHistoryEntry = async (email, id, fields) => {
+  const newHistory = getState().interviewHistory.map(interview => (interview.id === id ? { ...interview, ...fields } : interview));
+  setInterviewHistory(newHistory);
+  try {
+    await storage.set(`interview-history-${email}`, JSON.stringify(newHistory), false);
+  } catch (error) {
+    console.error('Failed to save history:', error);
+  }
+};
+
+// Adds a finished interview to history, once: the entry id is the interview id
+export const saveToHistory = async (email, entry) => {
+  const { interviewHistory } = getState();
+  if (interviewHistory.some(interview => interview.id === entry.id)) return;
+  const newHistory = [entry, ...interviewHistory].slice(0, 10); // Keep last 10
+  setInterviewHistory(newHistory);
+  await storage.set(`interview-history-${email}`, JSON.stringify(newHistory), false);
+
+  // Stats cover every interview, including those dropped from the list above
+  const stats = addToAggregates(getState().historyStats || emptyAggregates(), entry);
+  setHistoryStats(stats);
+  try {
+    await storage.set(`interview-stats-${email}`, JSON.stringify(stats), false);
+  } catch (error) {
+    console.error('Failed to save history stats:', error);
+  }
+};
+
+// History and progress are separate storage keys with no transaction across
+// them, so the progress key doubles as a journal. It is first replaced by the
+// finished entry, then history is written, then progress is deleted. If the
+// tab closes in between, completeFinalize rolls the commit forward at the
+// next sign-in; it can't be lost, resumed, or added to history twice.
+export const commitInterview = async (email, entry) => {
+  await storage.set(`interview-progress-${email}`, JSON.stringify({ interviewId: entry.id, finalized: entry }), false);
+  clearDraft();
+  await saveToHistory(email, entry);
+  await storage.delete(`interview-progress-${email}`, false);
+  setHasSavedProgress(false);
+};
+
+const completeFinalize = async (email, entry) => {
+  try {
+    await saveToHistory(email, entry);
+    await storage.delete(`interview-progress-${email}`, false);
+    telemetry.track('finalize_recovered');
+  } catch (error) {
+    console.error('Failed to complete saved interview:', error);
+  }
+};
+
+// After sign-in: finish a commit interrupted by a closed tab, or offer to
+// resume an interview in progress
+const checkSavedProgress = async (email) => {
+  const progress = await loadInterviewProgress(email);
+  if (progress?.finalized) {
+    await completeFinalize(email, progress.finalized);
+  } else if (progress) {
+    setHasSavedProgress(true);
+  }
+};
+
+const feedbackFromResponse = data => [{
+  type: 'detailed',
+  text: responseText(data) || 'Feedback generation in progress...'
+}];
+
+// Rule-based notes on length, structure and specifics, used when the API
+// can't be called
+const heuristicFeedback = (answer, jobRole) => {
+  const feedbackItems = [];
+  const wordCount = answer.trim().split(/\s+/).length;
+  
+  if (wordCount < 50) {
+    feedbackItems.push({
+      type: 'warning',
+      text: `⚠️ Your answer was brief (${wordCount} words). Hiring managers for ${jobRole} roles expect detailed, comprehensive answers. Aim for 150-250 words (2-3 minutes speaking).`
+    });
+    feedbackItems.push({
+      type: 'tip',
+      text: `💡 WHAT TO SAY INSTEAD: Include specific examples of tools, technologies, or methodologies you've used in ${jobRole} work. Mention measurable outcomes and your specific role in achieving them.`
+    });
+  } else if (wordCount >= 150) {
+    feedbackItems.push({
+      type: 'success',
+      text: '✅ Excellent answer length - comprehensive and detailed.'
+    });
+  }
+
+  const hasSTAR = (
+    answer.toLowerCase().includes('situation') || 
+    answer.toLowerCase().includes('task') || 
+    answer.toLowerCase().includes('result')
+  );
+  
+  if (!hasSTAR) {
+    feedbackItems.push({
+      type: 'warning',
+      text: '⚠️ GAP: Your answer lacks clear structure. Hiring managers look for organized, story-driven responses.'
+    });
+    feedbackItems.push({
+      type: 'tip',
+      text: '💡 WHAT TO SAY INSTEAD: Structure your answer using STAR method - Situation (context), Task (your responsibility), Action (specific steps you took with tools/skills relevant to this role), Result (measurable outcomes).'
+    });
+  }
+
+  const hasSpecifics = (
+    answer.toLowerCase().includes('example') || 
+    answer.toLowerCase().includes('specifically') ||
+    answer.toLowerCase().includes('for instance') ||
+    /\d+%|\d+ [a-z]+|increased|decreased|improved/i.test(answer)
+  );
+
+  if (!hasSpecifics) {
+    feedbackItems.push({
+      type: 'warning',
+      text: `⚠️ GAP: Missing specific examples and metrics. ${jobRole} hiring managers want to hear concrete evidence of your skills.`
+    });
+    feedbackItems.push({
+      type: 'tip',
+      text: `💡 WHAT TO SAY INSTEAD: Mention specific tools, technologies, or frameworks used in ${jobRole} work. Include measurable results (e.g., "reduced processing time by 30%", "managed $500K budget", "led team of 8"). Name actual projects, clients, or initiatives.`
+    });
+  }
+
+  return feedbackItems;
+};
+
+export const getFeedback = async (answer, questionIndex, question) => {
+  const { jobRole, jobLevel, currentUser, interviewId } = getState();
+
+  // Over the usage budget, per-answer feedback is local; the final review
+  // still covers every answer in one call while the budget allows it
+  const budgetLevel = await getBudgetLevel();
+  if (budgetLevel !== 'normal') {
+    telemetry.track('budget_degraded', { callType: 'feedback', level: budgetLevel });
+    return [
+      {
+        type: 'tip',
+        text: budgetLevel === 'economy'
+          ? '💡 Detailed per-answer feedback is paused because your usage budget is nearly used up. Your final review covers all of your answers.'
+          : '💡 Detailed feedback is paused because your usage budget is used up. These notes are generated on your device.'
+      },
+      ...heuristicFeedback(answer, jobRole)
+    ];
+  }
+
+  setIsLoadingFeedback(true);
+  let body = null;
+  
+  try {
+    body = buildFeedbackRequest({ jobRole, jobLevel, question, answer });
+    const data = await createMessage('feedback', body);
+    return feedbackFromResponse(data);
+    
+  } catch (error) {
+    console.error('Error generating feedback:', error);
+    telemetry.track('fallback', { callType: 'feedback', questionIndex });
+    // Fallback to basic feedback
+    const feedbackItems = [];
+
+    // Offline or a transient API failure: queue the request so the heuristic
+    // feedback below is replaced once it goes through
+    if (body && currentUser && isRetryableError(error)) {
+      try {
+        await enqueueRequest('feedback', body, { userEmail: currentUser.email, interviewId, questionIndex });
+        feedbackItems.push({
+          type: 'tip',
+          text: '⏳ Detailed expert feedback will replace these notes once you are back online.',
+          pending: true
+        });
+      } catch (queueError) {
+        console.error('Failed to queue feedback request:', queueError);
+      }
+    }
+    return [...feedbackItems, ...heuristicFeedback(answer, jobRole)];
+  } finally {
+    setIsLoadingFeedback(false);
+  }
+};
+
+// A queued feedback request went through: swap the heuristic feedback for the
+// real one, in the live interview or in its saved progress
+const applyQueuedFeedback = async (data, { userEmail, interviewId, questionIndex }) => {
+  const feedbackItems = feedbackFromResponse(data);
+  const state = getState();
+
+  if (state.interviewId === interviewId && state.feedback[questionIndex]) {
+    const newFeedback = [...state.feedback];
+    newFeedback[questionIndex] = feedbackItems;
+    setFeedback(newFeedback);
+    if (state.currentScreen === 'interview') {
+      await saveInterviewProgress(state.currentQuestion, state.answers, newFeedback, sessionClock.getSeconds(), sessionClock.getQuestionTimes());
+      return;
+    }
+  }
+
+  const progress = await loadInterviewProgress(userEmail);
+  if (progress && progress.interviewId === interviewId && progress.feedback?.[questionIndex]) {
+    progress.feedback[questionIndex] = feedbackItems;
+    await storage.set(`interview-progress-${userEmail}`, JSON.stringify(progress), false);
+    return;
+  }
+
+  // The interview was finished while offline; its transcript has the
+  // placeholder feedback
+  try {
+    const transcript = await getTranscript(userEmail, interviewId);
+    if (transcript && transcript.feedback?.[questionIndex]) {
+      transcript.feedback[questionIndex] = feedbackItems;
+      await saveTranscript(userEmail, transcript);
+    }
+  } catch (error) {
+    console.error('Failed to update transcript feedback:', error);
+  }
+};
+
+onQueuedResult('feedback', applyQueuedFeedback);
+
+// Voice interview functions
+export const speakQuestion = (questionIndex) => {
+  const { interviewQuestions } = getState();
+  if (!interviewQuestions[questionIndex]) return;
+  
+  voiceManager.speak(interviewQuestions[questionIndex], {
+    onstart: () => setIsSpeaking(true),
+    onend: () => setIsSpeaking(false),
+    onerror: () => setIsSpeaking(false)
+  });
+
+  // Get the next question ready while the candidate answers this one
+  voiceManager.prepare(interviewQuestions[questionIndex + 1]);
+};
+
+export const stopSpeaking = () => {
+  voiceManager.cancel();
+  setIsSpeaking(false);
+};
+
+// Records the spoken answer alongside dictation so it can be replayed from
+// the results screen. Failures only lose the playback, never the transcript.
+const startAnswerAudio = async () => {
+  const { currentUser, currentQuestion } = getState();
+  if (audioCapture || !currentUser || !isAnswerAudioSupported()) return;
+  const pending = startAnswerRecording({ userEmail: currentUser.email, questionIndex: currentQuestion });
+  audioCapture = pending;
+  try {
+    await pending;
+  } catch (error) {
+    console.error('Error starting answer audio:', error);
+    if (audioCapture === pending) audioCapture = null;
+  }
+};
+
+const stopAnswerAudio = async () => {
+  if (!audioCapture) return;
+  const capture = audioCapture;
+  audioCapture = null;
+  try {
+    const recording = await (await capture).stop();
+    if (recording.chunkCount === 0) return;
+    setState(({ answerRecordings }) => {
+      const next = [...answerRecordings];
+      next[recording.questionIndex] = [...(next[recording.questionIndex] || []), recording.id];
+      return { answerRecordings: next };
+    });
+  } catch (error) {
+    console.error('Error saving answer audio:', error);
+  }
+};
+
+// Pace, filler and pause analytics for the current dictation. The snapshot is
+// published with each transcript commit and once a second, so rolling pace
+// decays during silences without re-rendering on every recognition event.
+const startDeliveryTracking = () => {
+  stopDeliveryTracking();
+  deliveryAnalyzer = createDeliveryAnalyzer();
+  deliveryTimer = setInterval(publishDelivery, 1000);
+  return deliveryAnalyzer;
+};
+
+const publishDelivery = () => {
+  if (deliveryAnalyzer) setLiveDelivery(deliveryAnalyzer.snapshot());
+};
+
+// With an analyzer, only stops if that dictation is still the current one
+const stopDeliveryTracking = (analyzer) => {
+  if (analyzer && analyzer !== deliveryAnalyzer) return;
+  clearInterval(deliveryTimer);
+  deliveryTimer = null;
+  publishDelivery();
+  deliveryAnalyzer = null;
+};
+
+// Dictation through the on-device whisper engine, feeding the same transcript
+// buffer (and so the same userAnswer path) as the browser recognizer
+const startLocalRecording = async () => {
+  const delivery = startDeliveryTracking();
+  const buffer = createTranscriptBuffer({
+    onCommit: (text) => {
+      setUserAnswer(text);
+      publishDelivery();
+    }
+  });
+  transcriptBuffer = buffer;
+
+  const session = await startLocalTranscriber({
+    onPartial: (text) => {
+      delivery.noteActivity();
+      buffer.setInterim(text);
+    },
+    onFinal: (text) => {
+      delivery.addFinal(text);
+      buffer.appendFinal(text);
+      buffer.setInterim('');
+    },
+    onError: error => console.error('Local speech engine error:', error)
+  });
+
+  setIsRecording(true);
+  startAnswerAudio();
+  mediaRecorder = {
+    stop: () => session.stop()
+      .catch(error => console.error('Error stopping local speech engine:', error))
+      .finally(() => {
+        if (transcriptBuffer === buffer) buffer.flush({ finalOnly: buffer.getFinalText() !== '' });
+        stopDeliveryTracking(delivery);
+      })
+  };
+};
+
+export const startRecording = async () => {
+  try {
+    // Check if browser supports speech recognition
+    const SpeechRecognition = window.SpeechRecognition || window.webkitSpeechRecognition;
+
+    const preferLocal = config.localSpeech === 'always' || (config.localSpeech === 'auto' && !SpeechRecognition);
+    if (preferLocal && isLocalSpeechAvailable()) {
+      await startLocalRecording();
+      return;
+    }
+    
+    if (!SpeechRecognition) {
+      const shouldType = confirm('Voice recording is not supported in your browser. Would you like to type your answer instead?');
+      if (shouldType) {
+        setInterviewMode('text');
+      }
+      return;
+    }
+
+    const recognition = new SpeechRecognition();
+    recognition.continuous = true;
+    recognition.interimResults = true;
+    recognition.lang = 'en-US';
+    
+    // Update the answer field in real-time, at most once per frame
+    const delivery = startDeliveryTracking();
+    const buffer = createTranscriptBuffer({
+      onCommit: (text) => {
+        setUserAnswer(text);
+        publishDelivery();
+      }
+    });
+    
+    recognition.onstart = () => {
+      setIsRecording(true);
+      transcriptBuffer = buffer;
+    };
+    
+    recognition.onresult = (event) => {
+      metrics.mark('speech.result');
+      delivery.noteActivity();
+      let interimTranscript = '';
+      
+      for (let i = event.resultIndex; i < event.results.length; i++) {
+        const transcript = event.results[i][0].transcript;
+        
+        if (event.results[i].isFinal) {
+          metrics.mark('speech.final');
+          delivery.addFinal(transcript);
+          buffer.appendFinal(transcript);
+        } else {
+          interimTranscript += transcript;
+        }
+      }
+      
+      buffer.setInterim(interimTranscript);
+    };
+    
+    recognition.onerror = (event) => {
+      console.error('Speech recognition error:', event.error);
+      metrics.mark('speech.error');
+      setIsRecording(false);
+      
+      if (event.error === 'not-allowed') {
+        alert('Microphone access denied. Please allow microphone access and try again.');
+      } else if (event.error === 'no-speech') {
+        alert('No speech detected. Please try again.');
+      } else {
+        alert('Error with speech recognition: ' + event.error + '. Please try again or switch to text mode.');
+      }
+    };
+    
+    recognition.onend = () => {
+      setIsRecording(false);
+      stopAnswerAudio();
+      if (transcriptBuffer === buffer) buffer.flush({ finalOnly: buffer.getFinalText() !== '' });
+      stopDeliveryTracking(delivery);
+    };
+    
+    mediaRecorder = recognition;
+    recognition.start();
+    startAnswerAudio();
+    
+  } catch (error) {
+    console.error('Error starting recording:', error);
+    alert('Could not start recording: ' + error.message + '. Please try text mode instead.');
+    setInterviewMode('text');
+  }
+};
+
+// Finalized segments of the latest dictation, with start/end offsets in ms
+// from when recording started
+export const getTranscriptSegments = () => (transcriptBuffer ? transcriptBuffer.getSegments() : []);
+
+// Resolves once the answer audio's last chunk and recording id are stored
+export const stopRecording = () => {
+  if (mediaRecorder) {
+    mediaRecorder.stop();
+    mediaRecorder = null;
+    setIsRecording(false);
+  }
+  return stopAnswerAudio();
+};
+
+export const restart = async () => {
+  await clearInterviewProgress();
+  clearDraft();
+  setCurrentScreen('home');
+  setJobRole('');
+  setCurrentQuestion(0);
+  setUserAnswer('');
+  setAnswers([]);
+  setFeedback([]);
+  setAnswerRecordings([]);
+  setAnswerDelivery([]);
+  setLiveDelivery(null);
+  setScoreStanding(null);
+  sessionClock.reset();
+  setGradeFeedback(null);
+  setIsLoadingFeedback(false);
+};
+
+export const viewHistory = () => {
+  setCurrentScreen('history');
+};
+
+export const viewUsage = () => {
+  setCurrentScreen('usage');
+};
+
+export const exportHistory = async () => {
+  const { currentUser } = getState();
+  if (!currentUser) return;
+  setHistoryTransfer({ kind: 'export', records: 0, done: false, error: null });
+  try {
+    await saveHistoryExport(currentUser.email);
+    setHistoryTransfer({ kind: 'export', records: 0, done: true, error: null });
+  } catch (error) {
+    // Cancelling the save dialog is not an error
+    if (error.name === 'AbortError') {
+      setHistoryTransfer(null);
+      return;
+    }
+    console.error('Failed to export history:', error);
+    setHistoryTransfer({ kind: 'export', records: 0, done: false, error: 'Export failed. Please try again.' });
+  }
+};
+
+// Choosing the same file again after a failure resumes where it stopped
+export const importHistory = async (file) => {
+  const { currentUser } = getState();
+  if (!currentUser || !file) return;
+  setHistoryTransfer({ kind: 'import', records: 0, done: false, error: null });
+  let records = 0;
+  try {
+    const result = await importHistoryFile(currentUser.email, file, (progress) => {
+      records = progress.records;
+      setHistoryTransfer({ kind: 'import', records, done: false, error: null });
+    });
+    setInterviewHistory(result.history);
+    setHistoryStats(result.stats);
+    setHistoryTransfer({ kind: 'import', records: result.records, done: true, error: null });
+    await checkSavedProgress(currentUser.email);
+  } catch (error) {
+    console.error('Failed to import history:', error);
+    setHistoryTransfer({
+      kind: 'import',
+      records,
+      done: false,
+      error: `Import stopped after ${records} records: ${error.message}. Choose the same file again to resume.`
+    });
+  }
+};
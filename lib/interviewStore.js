@@ -0,0 +1,47 @@
+import { createStore, useStore } from './store';
+
+export const initialInterviewState = {
+  currentScreen: 'login',
+  isAuthenticated: false,
+  currentUser: null,
+  loginEmail: '',
+  loginPassword: '',
+  signupName: '',
+  signupEmail: '',
+  signupPassword: '',
+  signupConfirmPassword: '',
+  authError: '',
+  hasSavedProgress: false,
+  jobRole: '',
+  jobLevel: 'entry',
+  difficulty: 'medium',
+  // Identifies the interview in progress, e.g. for feedback that arrives late
+  interviewId: null,
+  currentQuestion: 0,
+  userAnswer: '',
+  answers: [],
+  feedback: [],
+  interviewHistory: [],
+  historyStats: null,
+  // Export or import in progress or just finished: { kind, records, done, error }
+  historyTransfer: null,
+  overallScore: 0,
+  scoreStanding: null,
+  gradeFeedback: null,
+  isLoadingFeedback: false,
+  interviewQuestions: [],
+  isLoadingQuestions: false,
+  interviewMode: 'text',
+  isRecording: false,
+  isSpeaking: false,
+  // Recording ids per question index; a question can have several takes
+  answerRecordings: [],
+  // Delivery snapshot of the dictation in progress, and one per answer
+  // (null for typed answers)
+  liveDelivery: null,
+  answerDelivery: []
+};
+
+export const interviewStore = createStore(initialInterviewState);
+
+export const useInterviewStore = (selector) => useStore(interviewStore, selector);
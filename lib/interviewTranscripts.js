@@ -0,0 +1,36 @@
+import { createDatabase, requestToPromise, transactionDone } from './idb';
+
+// Full record of each finished interview: questions, answers, per-answer
+// feedback and the grade review. History keeps a summary of the last ten
+// only; transcripts are kept for every interview, so they can be exported.
+const openDb = createDatabase('aiic-transcripts', 1, (db) => {
+  db.createObjectStore('transcripts', { keyPath: ['owner', 'id'] });
+});
+
+export const saveTranscript = async (owner, transcript) => {
+  const db = await openDb();
+  const tx = db.transaction('transcripts', 'readwrite');
+  tx.objectStore('transcripts').put({ ...transcript, owner });
+  await transactionDone(tx);
+};
+
+export const getTranscript = async (owner, id) => {
+  const db = await openDb();
+  return requestToPromise(db.transaction('transcripts').objectStore('transcripts').get([owner, id]));
+};
+
+export const hasTranscript = async (owner, id) => {
+  const db = await openDb();
+  const count = await requestToPromise(db.transaction('transcripts').objectStore('transcripts').count([owner, id]));
+  return count > 0;
+};
+
+// Up to limit transcripts with ids after afterId (null for the first page),
+// oldest first. Ids are interview start times.
+export const listTranscripts = async (owner, afterId, limit) => {
+  const db = await openDb();
+  const range = afterId === null
+    ? IDBKeyRange.bound([owner, -Infinity], [owner, Infinity])
+    : IDBKeyRange.bound([owner, afterId], [owner, Infinity], true);
+  return requestToPromise(db.transaction('transcripts').objectStore('transcripts').getAll(range, limit));
+};
@@ -0,0 +1,58 @@
+import { metrics } from './metrics';
+import { telemetry } from './telemetry';
+import { config } from './config';
+import { recordUsage } from './usageLedger';
+
+const MESSAGES_API_URL = 'https://api.anthropic.com/v1/messages';
+
+// Every Messages API call goes through here so latency, token usage and error
+// codes are recorded per call type ('questions', 'feedback', 'research',
+// 'grade'), and usage is added to the signed-in user's ledger
+// (lib/usageLedger.js). With
+// config.llmGatewayUrl set, calls go to the gateway (server/llmGateway.mjs),
+// which uses the call type to decide what the request may contain and what
+// it may cache.
+export const createMessage = async (callType, body) => {
+  const start = performance.now();
+  try {
+    const headers = {
+      "Content-Type": "application/json",
+    };
+    if (config.llmGatewayUrl) {
+      headers["X-AIIC-Call-Type"] = callType;
+      headers["X-AIIC-Token"] = config.llmGatewayToken;
+    }
+
+    const response = await fetch(config.llmGatewayUrl || MESSAGES_API_URL, {
+      method: "POST",
+      headers,
+      body: JSON.stringify(body)
+    });
+
+    if (!response.ok) {
+      const error = new Error(`API request failed: ${response.status}`);
+      error.status = response.status;
+      throw error;
+    }
+
+    const data = await response.json();
+    const latencyMs = performance.now() - start;
+    metrics.record(`llm.${callType}.latency_ms`, latencyMs);
+    telemetry.track('llm_call', { callType, ok: true, latencyMs: Math.round(latencyMs) });
+    if (data.usage) {
+      metrics.record(`llm.${callType}.input_tokens`, data.usage.input_tokens);
+      metrics.record(`llm.${callType}.output_tokens`, data.usage.output_tokens);
+      recordUsage({ callType, model: data.model || body.model, usage: data.usage, latencyMs });
+    }
+    return data;
+  } catch (error) {
+    metrics.mark(`llm.${callType}.error`);
+    telemetry.track('llm_call', {
+      callType,
+      ok: false,
+      status: error.status || 'network',
+      latencyMs: Math.round(performance.now() - start)
+    });
+    throw error;
+  }
+};
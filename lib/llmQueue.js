@@ -0,0 +1,164 @@
+import { createDatabase, requestToPromise, transactionDone } from './idb';
+import { createMessage } from './llmClient';
+import { telemetry } from './telemetry';
+import { interviewStore } from './interviewStore';
+import { getBudgetLevel } from './usageLedger';
+
+// Durable queue for Messages API calls that failed because the network was
+// down (or the API was briefly unavailable). Requests are kept in IndexedDB,
+// so they survive reloads, and replayed with exponential backoff once the
+// browser is back online. A handler registered per call type receives the
+// response together with the metadata saved at enqueue time.
+//
+// The queue is shared by everyone who signs in on the device, but usage is
+// billed to the signed-in user, so only their own requests are replayed, and
+// only while their usage budget allows full LLM calls. Requests that could
+// not be replayed within MAX_AGE_MS are dropped.
+const MAX_ATTEMPTS = 8;
+const BASE_DELAY_MS = 2000;
+const MAX_DELAY_MS = 5 * 60 * 1000;
+const MAX_AGE_MS = 7 * 24 * 60 * 60 * 1000;
+
+const openDb = createDatabase('aiic-llm-queue', 1, (db) => {
+  const requests = db.createObjectStore('requests', { keyPath: 'id', autoIncrement: true });
+  requests.createIndex('nextAttemptAt', 'nextAttemptAt');
+});
+
+const handlers = {};
+let draining = null;
+let retryTimer = null;
+
+// Errors worth retrying later: no response at all, rate limiting, server errors
+export const isRetryableError = error => !error.status || error.status === 429 || error.status >= 500;
+
+const backoffDelay = (attempts) => {
+  const delay = Math.min(MAX_DELAY_MS, BASE_DELAY_MS * 2 ** attempts);
+  // Jitter so several tabs coming back online don't retry in lockstep
+  return delay / 2 + Math.random() * (delay / 2);
+};
+
+const putRequest = async (entry) => {
+  const db = await openDb();
+  const tx = db.transaction('requests', 'readwrite');
+  tx.objectStore('requests').put(entry);
+  await transactionDone(tx);
+};
+
+const deleteRequest = async (id) => {
+  const db = await openDb();
+  const tx = db.transaction('requests', 'readwrite');
+  tx.objectStore('requests').delete(id);
+  await transactionDone(tx);
+};
+
+const scheduleRetry = (at) => {
+  clearTimeout(retryTimer);
+  retryTimer = setTimeout(() => drainQueue(), Math.max(0, at - Date.now()));
+};
+
+export const onQueuedResult = (callType, handler) => {
+  handlers[callType] = handler;
+};
+
+const currentUser = () => interviewStore.getState().currentUser?.email || null;
+// Entries queued before user was stored on them have it in meta
+const ownerOf = entry => entry.user ?? entry.meta?.userEmail ?? null;
+
+export const enqueueRequest = async (callType, body, meta = {}) => {
+  const user = meta.userEmail ?? currentUser();
+  await putRequest({ callType, body, meta, user, attempts: 0, nextAttemptAt: Date.now(), createdAt: Date.now() });
+  telemetry.track('llm_queued', { callType });
+  // Ask the service worker to wake us when connectivity returns, where supported
+  navigator.serviceWorker?.ready
+    .then(registration => registration.sync?.register('llm-queue'))
+    .catch(() => {});
+  if (navigator.onLine) scheduleRetry(Date.now() + backoffDelay(0));
+};
+
+const dropRequest = async (entry, attempts) => {
+  telemetry.track('llm_queue_dropped', { callType: entry.callType, attempts });
+  await deleteRequest(entry.id);
+};
+
+const replay = async (entry) => {
+  if (Date.now() - entry.createdAt > MAX_AGE_MS) {
+    await dropRequest(entry, entry.attempts);
+    return;
+  }
+  // Over the economy threshold the app makes no per-answer calls; wait for
+  // the budget period to roll over
+  if (await getBudgetLevel() !== 'normal') {
+    await putRequest({ ...entry, nextAttemptAt: Date.now() + MAX_DELAY_MS });
+    return;
+  }
+  try {
+    const data = await createMessage(entry.callType, entry.body);
+    await deleteRequest(entry.id);
+    telemetry.track('llm_replayed', { callType: entry.callType, attempts: entry.attempts + 1 });
+    try {
+      await handlers[entry.callType]?.(data, entry.meta);
+    } catch (error) {
+      console.error('Failed to apply replayed response:', error);
+    }
+  } catch (error) {
+    const attempts = entry.attempts + 1;
+    if (!isRetryableError(error) || attempts >= MAX_ATTEMPTS) {
+      console.error('Dropping queued request:', error);
+      await dropRequest(entry, attempts);
+      return;
+    }
+    await putRequest({ ...entry, attempts, nextAttemptAt: Date.now() + backoffDelay(attempts) });
+  }
+};
+
+const userRequests = async (user) => {
+  const db = await openDb();
+  const all = await requestToPromise(db.transaction('requests').objectStore('requests').index('nextAttemptAt').getAll());
+  return all.filter(entry => ownerOf(entry) === user);
+};
+
+// Replays the signed-in user's requests that are due, oldest first, and
+// schedules the next attempt for whatever of theirs is left. Concurrent calls
+// share one pass.
+export const drainQueue = () => {
+  if (!draining) {
+    draining = (async () => {
+      try {
+        const user = currentUser();
+        if (!navigator.onLine || !user) return;
+        const now = Date.now();
+        const due = (await userRequests(user)).filter(entry => entry.nextAttemptAt <= now);
+        for (const entry of due) {
+          if (!navigator.onLine || currentUser() !== user) break;
+          await replay(entry);
+        }
+        const [next] = await userRequests(user);
+        if (next) scheduleRetry(next.nextAttemptAt);
+      } catch (error) {
+        console.error('Failed to drain request queue:', error);
+      }
+    })().finally(() => {
+      // Cleared once the pass settles; a finally inside the pass would run
+      // before the assignment above when the pass returns without awaiting
+      draining = null;
+    });
+  }
+  return draining;
+};
+
+// Drains on startup, whenever the browser reports it is online again or a
+// different user signs in, and when the service worker's background sync fires
+export const startRequestQueue = () => {
+  if (typeof indexedDB === 'undefined') return;
+  window.addEventListener('online', () => drainQueue());
+  let user = currentUser();
+  interviewStore.subscribe(() => {
+    if (currentUser() === user) return;
+    user = currentUser();
+    if (user) drainQueue();
+  });
+  navigator.serviceWorker?.addEventListener('message', (event) => {
+    if (event.data?.type === 'drain-llm-queue') drainQueue();
+  });
+  drainQueue();
+};
@@ -0,0 +1,319 @@
+// Request bodies for the three Messages API calls the app makes. They are
+// kept free of app state and imports so the load test harness
+// (bench/loadTest.mjs) can send exactly what the app sends.
+const MODEL = "claude-sonnet-4-20250514";
+
+// avoid: questions the candidate has been asked before, when replacing repeats
+export const buildQuestionsRequest = (jobRole, jobLevel, difficulty, avoid = []) => {
+  const levelDescriptions = {
+    entry: 'entry-level (0-2 years experience)',
+    mid: 'mid-level (3-7 years experience)',
+    senior: 'senior-level (8+ years experience)'
+  };
+
+  const difficultyInstructions = {
+    easy: `Make questions in-depth and comprehensive, focusing on:
+- Fundamental knowledge and core skills required for ${jobRole}
+- Basic situational scenarios they might encounter
+- Their understanding of key tools, processes, and methodologies
+- Past experiences demonstrating foundational competencies
+- How they approach learning and development in this field
+Even though this is "easy" difficulty, questions should still be detailed and require thoughtful, substantial answers.`,
+    medium: `Make questions thoroughly in-depth and detailed, focusing on:
+- Advanced application of skills and knowledge specific to ${jobRole}
+- Complex scenarios requiring problem-solving and critical thinking
+- Multi-faceted challenges that test various competencies simultaneously
+- Leadership, collaboration, and stakeholder management situations
+- Strategic thinking and decision-making processes
+- Detailed technical or functional expertise
+Questions should require comprehensive answers with specific examples and deep reflection.`,
+    hard: `Make questions extremely in-depth and challenging, focusing on:
+- Highly complex, multi-layered scenarios with competing priorities
+- Strategic decision-making under pressure with incomplete information
+- Advanced expertise in specialized areas of ${jobRole}
+- Organizational impact and transformational change
+- Handling crisis situations and difficult stakeholder dynamics
+- Innovation, thought leadership, and industry expertise
+- Ethical dilemmas and controversial decisions
+Questions should push candidates to demonstrate mastery-level thinking and require extensive, nuanced responses.`
+  };
+
+  const prompt = `You are an experienced hiring manager conducting an interview for a ${jobRole} position at the ${levelDescriptions[jobLevel]} level.
+
+First, think about the key requirements, skills, and responsibilities typically needed for a ${jobRole} role at this level. Then generate exactly 10 highly specific, in-depth interview questions that directly assess whether the candidate meets those requirements.
+
+Difficulty Level Instructions:
+${difficultyInstructions[difficulty]}
+
+Requirements:
+- Generate exactly 10 questions (not 5, not 8 - must be 10)
+- Each question must be tailored specifically to ${jobRole} - use industry terminology, tools, methodologies, and scenarios unique to this role
+- Questions should be detailed and require comprehensive answers (candidates should speak for 2-3 minutes per answer)
+- Ask about specific tools, technologies, processes, or challenges relevant to ${jobRole}
+- Include questions that reveal hands-on experience with core responsibilities
+- Progress from foundational to more complex throughout the 10 questions
+- Mix: behavioral (past experience), technical (skills/knowledge), and situational (problem-solving) questions
+- Avoid generic questions that could apply to any job
+- Make questions thought-provoking and substantial
+${avoid.length ? `- Do not repeat or closely paraphrase any of these questions, which the candidate has already been asked:
+${avoid.map(question => `  - ${question}`).join('\n')}
+` : ''}
+Return ONLY the 10 questions, one per line, numbered 1-10. No preamble or explanations.
+
+Format:
+1. [Question here]
+2. [Question here]
+3. [Question here]
+4. [Question here]
+5. [Question here]
+6. [Question here]
+7. [Question here]
+8. [Question here]
+9. [Question here]
+10. [Question here]`;
+
+  return {
+    model: MODEL,
+    max_tokens: 1000,
+    messages: [
+      { role: "user", content: prompt }
+    ]
+  };
+};
+
+export const buildFeedbackRequest = ({ jobRole, jobLevel, question, answer }) => {
+  const prompt = `You are an expert interview coach providing feedback for a candidate interviewing for a ${jobRole} position at the ${jobLevel} level.
+
+Question Asked: "${question}"
+
+Candidate's Answer: "${answer}"
+
+Analyze this answer and provide specific, actionable feedback that helps them improve for their next interview. Focus on:
+
+1. What specific elements hiring managers for ${jobRole} roles look for in answers to this type of question
+2. What the candidate did well (be specific about strong points in their answer)
+3. What the candidate missed or could improve (specific gaps or weaknesses)
+4. What they SHOULD have said instead - provide 2-3 concrete examples of stronger talking points, specific skills, technologies, or experiences they could mention
+5. How to structure a better answer using relevant frameworks (STAR method, etc.)
+
+Format your response as:
+✅ STRENGTHS: [What they did well]
+⚠️ GAPS: [What's missing from their answer]
+💡 WHAT TO SAY INSTEAD: [Specific examples of better talking points]
+📋 IMPROVEMENT TIPS: [How to structure better answers]
+
+Be specific to ${jobRole} - mention actual skills, tools, methodologies, and experiences relevant to this role.`;
+
+  return {
+    model: MODEL,
+    max_tokens: 800,
+    messages: [
+      { role: "user", content: prompt }
+    ]
+  };
+};
+
+// Grade F feedback is given the role's requirements, researched with web
+// search by a request of their own (buildRoleResearchRequest). That request
+// is built from the role and level only, never from a candidate's answers,
+// because its reply is cached for every candidate (lib/roleResearch.js). The
+// reply is this marker and the findings as one line of JSON.
+export const RESEARCH_MARKER = 'ROLE_REQUIREMENTS_JSON:';
+const RESEARCH_FIELDS = ['skills', 'tools', 'experiences', 'talkingPoints'];
+const MAX_RESEARCH_ITEMS = 8;
+const MAX_RESEARCH_ITEM_LENGTH = 200;
+
+const researchSection = (research, jobRole, jobLevel) => {
+  const labels = { skills: 'Skills', tools: 'Tools and technologies', experiences: 'Experience', talkingPoints: 'Talking points' };
+  const lines = RESEARCH_FIELDS
+    .filter(field => research[field]?.length)
+    .map(field => `- ${labels[field]}: ${research[field].join('; ')}`);
+  return `Researched requirements for ${jobRole} roles at ${jobLevel} level (gathered ${new Date(research.researchedAt).toISOString().slice(0, 10)}):
+${lines.join('\n')}
+
+`;
+};
+
+export const buildRoleResearchRequest = (jobRole, jobLevel) => {
+  const prompt = `Use web search to find what hiring managers expect from ${jobRole} candidates at ${jobLevel} level: the skills, tools and technologies, experiences, and interview talking points that come up most often in current job postings and interview guides.
+
+Reply with a single line: ${RESEARCH_MARKER} followed by your findings as JSON: {"skills": [...], "tools": [...], "experiences": [...], "talkingPoints": [...]}, at most ${MAX_RESEARCH_ITEMS} short strings each. Write nothing else.`;
+
+  return {
+    model: MODEL,
+    max_tokens: 600,
+    messages: [
+      { role: "user", content: prompt }
+    ],
+    tools: [{
+      type: "web_search_20250305",
+      name: "web_search"
+    }]
+  };
+};
+
+// search: false leaves the web search out of F-grade requests (usage budget);
+// it is only used when no research could be had
+export const buildGradeRequest = ({ grade, score, answers, jobRole, jobLevel, research = null, search = true }) => {
+  let prompt = '';
+  
+  if (grade === 'F') {
+    // Grade F: Search for job role requirements, unless cached research is
+    // supplied, and provide detailed feedback
+    prompt = `You are an expert career coach analyzing a failed interview performance (score: ${score}/100) for a ${jobRole} position at ${jobLevel} level.
+
+${research ? researchSection(research, jobRole, jobLevel) : ''}The candidate's answers were:
+${answers.map((ans, i) => `Question ${i + 1}: ${ans}`).join('\n\n')}
+
+Provide comprehensive, actionable feedback:
+
+1. ASSESSMENT: Brief honest assessment of why they failed (2-3 sentences)
+
+2. WHAT HIRING MANAGERS LOOK FOR: List 5-7 specific skills, qualities, experiences, and talking points that ${jobRole} hiring managers expect to hear in interviews at the ${jobLevel} level. Be specific - mention actual tools, technologies, methodologies, frameworks, and types of projects.
+
+3. WHAT WAS MISSING: Analyze what the candidate's answers lacked compared to what employers expect. What specific skills, experiences, or examples did they fail to mention?
+
+4. WHAT THEY SHOULD HAVE SAID: Provide 4-5 concrete examples of strong talking points they could have used, such as:
+   - Specific technologies/tools they should mention knowing
+   - Types of projects or achievements they should reference
+   - Metrics or outcomes they should quantify
+   - Industry terminology or methodologies they should demonstrate knowledge of
+
+5. ACTION PLAN: 3-4 concrete steps to improve (be specific about what to study, practice, or prepare)
+
+Be encouraging but honest. Focus on exactly what they need to say in their next interview to succeed.`;
+
+  } else if (grade === 'C') {
+    prompt = `You are an expert career coach analyzing an interview that needs more practice (score: ${score}/100, Grade C) for a ${jobRole} position at ${jobLevel} level.
+
+The candidate's answers were:
+${answers.map((ans, i) => `Question ${i + 1}: ${ans}`).join('\n\n')}
+
+Provide balanced, specific feedback:
+
+1. STRENGTHS: What they did well - 2-3 specific strong points in their answers
+
+2. GAPS & WEAKNESSES: What they did poorly - 2-3 specific areas where answers fell short of what ${jobRole} hiring managers expect
+
+3. WHAT THEY MISSED: Key points, experiences, or skills they should have mentioned but didn't. What do ${jobRole} hiring managers specifically want to hear that was absent?
+
+4. WHAT THEY SHOULD HAVE SAID INSTEAD: Provide 4-5 specific examples of stronger talking points:
+   - Better ways to frame their experience
+   - Specific tools, technologies, or methodologies to mention
+   - Types of metrics or outcomes to emphasize
+   - Industry-specific terminology to demonstrate expertise
+
+5. HOW CLOSE TO PASSING: Explain specifically what improvements would get them to Grade B/A
+
+6. NEXT STEPS: 3 actionable tips with concrete examples of what to prepare
+
+Be constructive and specific about exactly what needs to change in their answers.`;
+
+  } else if (grade === 'B') {
+    prompt = `You are an expert career coach analyzing a strong interview (score: ${score}/100, Grade B) for a ${jobRole} position at ${jobLevel} level.
+
+The candidate's answers were:
+${answers.map((ans, i) => `Question ${i + 1}: ${ans}`).join('\n\n')}
+
+Provide encouraging, refinement-focused feedback:
+
+1. WHAT YOU DID EXCELLENTLY: 3-4 specific strengths - what aspects of their answers really impressed and why these matter to ${jobRole} hiring managers
+
+2. WHAT ${jobRole} HIRING MANAGERS LOVED: Specific elements in their answers that align perfectly with what employers seek (mention specific skills, examples, or approaches they demonstrated well)
+
+3. WHAT WOULD PUSH YOU TO GRADE A: Small refinements needed - be specific about what additional talking points, examples, or framing would make answers even stronger
+
+4. MINOR POLISH SUGGESTIONS: 2-3 specific ways to elevate answers:
+   - Additional metrics or outcomes to mention
+   - Stronger ways to frame certain experiences
+   - More impactful terminology or industry language
+   - Better structure or storytelling techniques
+
+5. FINAL ADVICE: You're interview-ready - here's how to maintain confidence and handle the final interview stages
+
+Be highly positive but provide actionable ways to achieve perfection.`;
+
+  } else if (grade === 'A') {
+    prompt = `You are an expert career coach analyzing an excellent interview (score: ${score}/100, Grade A) for a ${jobRole} position at ${jobLevel} level.
+
+The candidate's answers were:
+${answers.map((ans, i) => `Question ${i + 1}: ${ans}`).join('\n\n')}
+
+Provide validating, confidence-building feedback:
+
+1. OUTSTANDING PERFORMANCE: 4-5 specific strengths - what made their answers exceptional and exactly what ${jobRole} hiring managers want to hear
+
+2. WHY HIRING MANAGERS WILL LOVE YOU: Analyze specific elements of their answers that demonstrate they're the ideal candidate:
+   - What skills, experiences, or knowledge they showcased perfectly
+   - How their examples align with what ${jobRole} roles require
+   - Effective techniques they used (storytelling, metrics, structure, etc.)
+
+3. WHAT YOU DID THAT MOST CANDIDATES DON'T: Highlight what set them apart from typical candidates - what talking points, depth, or expertise they demonstrated that's rare
+
+4. AREAS OF ABSOLUTE PERFECTION: Specific moments in their answers that were textbook excellent
+
+5. TINY REFINEMENTS (IF ANY): Only if there are truly minor areas for improvement - be very specific
+
+6. YOU'RE READY: Confidence-building message that they're fully prepared and should feel confident going into real interviews
+
+Be highly validating and specific about why they succeeded.`;
+  }
+
+  return {
+    model: MODEL,
+    max_tokens: 1000,
+    messages: [
+      { role: "user", content: prompt }
+    ],
+    ...(grade === 'F' && !research && search ? {
+      tools: [{
+        type: "web_search_20250305",
+        name: "web_search"
+      }]
+    } : {})
+  };
+};
+
+// Concatenated text blocks of a Messages API response
+export const responseText = (data) => {
+  let text = '';
+  if (data.content && Array.isArray(data.content)) {
+    for (const item of data.content) {
+      if (item.type === 'text' && item.text) {
+        text += item.text;
+      }
+    }
+  } else if (typeof data === 'string') {
+    text = data;
+  } else if (data.error) {
+    throw new Error(data.error.message || 'API error');
+  }
+  return text;
+};
+
+// Splits a role research reply into any text before the research line and
+// the research itself. research is null when it is missing or malformed.
+export const splitRoleResearch = (text) => {
+  const at = text.lastIndexOf(RESEARCH_MARKER);
+  if (at === -1) return { text, research: null };
+  const feedback = text.slice(0, at).trimEnd();
+  try {
+    const parsed = JSON.parse(text.slice(at + RESEARCH_MARKER.length).trim().split('\n')[0]);
+    const research = {};
+    for (const field of RESEARCH_FIELDS) {
+      research[field] = (Array.isArray(parsed[field]) ? parsed[field] : [])
+        .filter(item => typeof item === 'string' && item.trim())
+        .slice(0, MAX_RESEARCH_ITEMS)
+        .map(item => item.trim().slice(0, MAX_RESEARCH_ITEM_LENGTH));
+    }
+    return { text: feedback, research: RESEARCH_FIELDS.some(field => research[field].length) ? research : null };
+  } catch (error) {
+    return { text: feedback, research: null };
+  }
+};
+
+// Questions from a numbered "1. ..." list
+export const parseQuestions = text => text
+  .split('\n')
+  .filter(line => line.trim() && /^\d+\./.test(line.trim()))
+  .map(line => line.replace(/^\d+\.\s*/, '').trim());
@@ -0,0 +1,106 @@
+import { config } from './config';
+import { metrics } from './metrics';
+
+// Main-thread side of the on-device speech engine. Microphone audio goes
+// through the pcm-capture AudioWorklet in ~100 ms chunks to the whisper
+// worker. Partial and final text come back through the callbacks. The worker
+// and its model stay loaded between answers.
+let worker = null;
+let readyPromise = null;
+// A flush waits for the worker's current run, which gives up after 30 s
+const FLUSH_TIMEOUT_MS = 35000;
+
+// The whisper.wasm build uses pthreads, which need SharedArrayBuffer and so a
+// cross-origin isolated page; without it the app falls back to Web Speech
+export const isLocalSpeechAvailable = () => Boolean(
+  self.crossOriginIsolated &&
+  config.whisperScriptUrl &&
+  config.whisperModelUrl &&
+  typeof Worker !== 'undefined' &&
+  typeof AudioWorkletNode !== 'undefined' &&
+  navigator.mediaDevices?.getUserMedia
+);
+
+const threadCount = () => Math.min(4, navigator.hardwareConcurrency || 1);
+
+const getWorker = () => {
+  if (!readyPromise) {
+    worker = new Worker(new URL('../workers/whisperWorker.js', import.meta.url));
+    readyPromise = new Promise((resolve, reject) => {
+      worker.onmessage = ({ data }) => {
+        if (data.type === 'ready') resolve(worker);
+        if (data.type === 'error') reject(new Error(data.message));
+      };
+    });
+    worker.postMessage({
+      type: 'init',
+      scriptUrl: config.whisperScriptUrl,
+      modelUrl: config.whisperModelUrl,
+      threads: threadCount()
+    });
+    readyPromise.catch(() => {
+      worker.terminate();
+      worker = null;
+      readyPromise = null;
+    });
+  }
+  return readyPromise;
+};
+
+export const startLocalTranscriber = async ({ onPartial, onFinal, onError }) => {
+  const activeWorker = await metrics.time('speech.local.load_ms', getWorker);
+  const stream = await navigator.mediaDevices.getUserMedia({
+    audio: { channelCount: 1, echoCancellation: true, noiseSuppression: true }
+  });
+  const context = new AudioContext({ sampleRate: 16000 });
+  await context.audioWorklet.addModule(new URL('../workers/pcmCaptureWorklet.js', import.meta.url));
+
+  const source = context.createMediaStreamSource(stream);
+  const capture = new AudioWorkletNode(context, 'pcm-capture', { numberOfOutputs: 0 });
+  capture.port.onmessage = ({ data }) => {
+    activeWorker.postMessage({ type: 'audio', samples: data }, [data.buffer]);
+  };
+
+  let onFlushed = null;
+  activeWorker.onmessage = ({ data }) => {
+    if (data.type === 'partial') {
+      metrics.mark('speech.result');
+      onPartial(data.text);
+    } else if (data.type === 'final') {
+      metrics.mark('speech.final');
+      onFinal(data.text);
+    } else if (data.type === 'stats') {
+      // Real-time factor: processing time per unit of audio, below 1 keeps up
+      metrics.record('speech.local.rtf', data.processingMs / data.audioMs);
+    } else if (data.type === 'dropped') {
+      // Audio the worker skipped because it fell behind real time
+      metrics.record('speech.local.dropped_ms', data.audioMs);
+    } else if (data.type === 'flushed' && onFlushed) {
+      onFlushed();
+    } else if (data.type === 'error') {
+      metrics.mark('speech.error');
+      onError(new Error(data.message));
+    }
+  };
+
+  source.connect(capture);
+
+  return {
+    // Releases the microphone, then waits for the last segment to be
+    // finalized, or for FLUSH_TIMEOUT_MS if the worker doesn't answer
+    async stop() {
+      capture.port.onmessage = null;
+      source.disconnect();
+      stream.getTracks().forEach(track => track.stop());
+      await context.close();
+      await new Promise((resolve) => {
+        const timer = setTimeout(resolve, FLUSH_TIMEOUT_MS);
+        onFlushed = () => {
+          clearTimeout(timer);
+          resolve();
+        };
+        activeWorker.postMessage({ type: 'flush' });
+      });
+    }
+  };
+};
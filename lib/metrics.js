@@ -0,0 +1,167 @@
+// In-memory hot-path metrics. Every series keeps its most recent samples in a
+// fixed-size ring buffer and all samples in a power-of-two histogram, so
+// memory stays constant however long the session runs. View them with the
+// developer overlay (Ctrl+Shift+M) or window.__metrics.
+const RING_SIZE = 256;
+const BUCKET_COUNT = 32;
+const RATE_WINDOW_MS = 10000;
+
+const now = () => (typeof performance !== 'undefined' ? performance.now() : Date.now());
+
+export const createRingBuffer = (size = RING_SIZE) => {
+  const values = new Float64Array(size);
+  let next = 0;
+  let length = 0;
+
+  return {
+    push(value) {
+      values[next] = value;
+      next = (next + 1) % size;
+      if (length < size) length += 1;
+    },
+    // Oldest sample first
+    toArray() {
+      const start = length < size ? 0 : next;
+      return Array.from({ length }, (_, i) => values[(start + i) % size]);
+    },
+    get length() {
+      return length;
+    }
+  };
+};
+
+// Bucket 0 counts values below 1, bucket i counts values in [2^(i-1), 2^i)
+export const createHistogram = () => {
+  const buckets = new Array(BUCKET_COUNT).fill(0);
+
+  const bucketFor = (value) => {
+    if (value < 1) return 0;
+    return Math.min(BUCKET_COUNT - 1, Math.floor(Math.log2(value)) + 1);
+  };
+
+  return {
+    add(value) {
+      buckets[bucketFor(value)] += 1;
+    },
+    toJSON() {
+      return buckets
+        .map((count, i) => ({ lt: 2 ** i, count }))
+        .filter(bucket => bucket.count > 0);
+    }
+  };
+};
+
+const percentile = (sorted, p) => {
+  if (sorted.length === 0) return null;
+  return sorted[Math.min(sorted.length - 1, Math.floor(p * sorted.length))];
+};
+
+const round = (value) => (value === null ? null : Math.round(value * 100) / 100);
+
+const createSeries = () => ({
+  recent: createRingBuffer(),
+  histogram: createHistogram(),
+  count: 0,
+  sum: 0,
+  min: Infinity,
+  max: -Infinity
+});
+
+const createEventSeries = () => ({
+  timestamps: createRingBuffer(),
+  count: 0
+});
+
+export const createMetrics = () => {
+  const series = new Map();
+  const events = new Map();
+
+  return {
+    // Records a sample such as a duration in ms or a size in bytes
+    record(name, value) {
+      if (!Number.isFinite(value)) return;
+      let entry = series.get(name);
+      if (!entry) {
+        entry = createSeries();
+        series.set(name, entry);
+      }
+      entry.recent.push(value);
+      entry.histogram.add(value);
+      entry.count += 1;
+      entry.sum += value;
+      entry.min = Math.min(entry.min, value);
+      entry.max = Math.max(entry.max, value);
+    },
+
+    // Counts an occurrence; the snapshot reports a rate over the last 10s
+    mark(name) {
+      let entry = events.get(name);
+      if (!entry) {
+        entry = createEventSeries();
+        events.set(name, entry);
+      }
+      entry.timestamps.push(now());
+      entry.count += 1;
+    },
+
+    // Times an async operation and records its duration under name
+    async time(name, operation) {
+      const start = now();
+      try {
+        return await operation();
+      } finally {
+        this.record(name, now() - start);
+      }
+    },
+
+    // Percentiles cover the ring buffer (recent samples); the histogram and
+    // count/mean/min/max cover everything recorded since the last reset
+    snapshot() {
+      const snapshotSeries = {};
+      series.forEach((entry, name) => {
+        const sorted = entry.recent.toArray().sort((a, b) => a - b);
+        snapshotSeries[name] = {
+          count: entry.count,
+          mean: round(entry.sum / entry.count),
+          min: round(entry.min),
+          max: round(entry.max),
+          p50: round(percentile(sorted, 0.5)),
+          p95: round(percentile(sorted, 0.95)),
+          p99: round(percentile(sorted, 0.99)),
+          histogram: entry.histogram.toJSON()
+        };
+      });
+
+      const snapshotEvents = {};
+      const windowStart = now() - RATE_WINDOW_MS;
+      events.forEach((entry, name) => {
+        const inWindow = entry.timestamps.toArray().filter(t => t >= windowStart).length;
+        snapshotEvents[name] = {
+          count: entry.count,
+          perSecond: round(inWindow / (RATE_WINDOW_MS / 1000))
+        };
+      });
+
+      return {
+        capturedAt: new Date().toISOString(),
+        series: snapshotSeries,
+        events: snapshotEvents
+      };
+    },
+
+    exportJson() {
+      return JSON.stringify(this.snapshot(), null, 2);
+    },
+
+    reset() {
+      series.clear();
+      events.clear();
+    }
+  };
+};
+
+export const metrics = createMetrics();
+
+if (typeof window !== 'undefined') {
+  window.__metrics = metrics;
+}
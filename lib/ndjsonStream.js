@@ -0,0 +1,72 @@
+// Newline-delimited JSON over web streams, for exports too large to build as
+// one string. The writer pulls records in batches only as fast as the
+// consumer reads, and the reader parses one line at a time, so memory stays
+// at about one batch or one record however large the file is. No imports, so
+// it can be tested from Node.
+const NEWLINE = 10;
+// A longer line is a corrupt or foreign file, not a record
+const MAX_LINE_BYTES = 16 * 1024 * 1024;
+
+// nextBatch() resolves to an array of records, or null when there are no more
+export const ndjsonStream = (nextBatch, { gzip = false } = {}) => {
+  const encoder = new TextEncoder();
+  const stream = new ReadableStream({
+    async pull(controller) {
+      const batch = await nextBatch();
+      if (!batch) {
+        controller.close();
+        return;
+      }
+      if (batch.length) controller.enqueue(encoder.encode(batch.map(record => `${JSON.stringify(record)}\n`).join('')));
+    }
+  }, { highWaterMark: 1 });
+  return gzip ? stream.pipeThrough(new CompressionStream('gzip')) : stream;
+};
+
+const concat = (pieces) => {
+  if (pieces.length === 1) return pieces[0];
+  const bytes = new Uint8Array(pieces.reduce((sum, piece) => sum + piece.length, 0));
+  let at = 0;
+  pieces.forEach((piece) => {
+    bytes.set(piece, at);
+    at += piece.length;
+  });
+  return bytes;
+};
+
+// Transforms bytes into { record, end } where end is the byte offset just
+// past the record's line, counted from startOffset. An importer that stores
+// end can later continue from there.
+export const ndjsonRecords = (startOffset = 0) => {
+  const decoder = new TextDecoder();
+  let pending = [];
+  let pendingBytes = 0;
+  let offset = startOffset;
+
+  const emit = (bytes, controller) => {
+    offset += bytes.length;
+    const text = decoder.decode(bytes).trim();
+    if (text) controller.enqueue({ record: JSON.parse(text), end: offset });
+  };
+
+  return new TransformStream({
+    transform(chunk, controller) {
+      let start = 0;
+      for (let i = chunk.indexOf(NEWLINE); i !== -1; i = chunk.indexOf(NEWLINE, start)) {
+        emit(concat([...pending, chunk.subarray(start, i + 1)]), controller);
+        pending = [];
+        pendingBytes = 0;
+        start = i + 1;
+      }
+      if (start < chunk.length) {
+        pending.push(chunk.slice(start));
+        pendingBytes += chunk.length - start;
+        if (pendingBytes > MAX_LINE_BYTES) throw new Error('Line too long');
+      }
+    },
+
+    flush(controller) {
+      if (pending.length) emit(concat(pending), controller);
+    }
+  });
+};
@@ -0,0 +1,113 @@
+// KLL quantile sketch (Karnin, Lang, Liberty). Keeps a bounded number of
+// samples in levels of compactors; an item at level h stands for 2^h
+// observations. When a level fills up it is sorted and every other item is
+// promoted, so memory stays around 3k items and rank error around 1.7/k
+// however many values are added; at k = 200 a sketch of whole-number scores
+// is about 3 KB of JSON. Sketches merge level by level, and serialize to
+// plain JSON, so clients and the gateway can combine them.
+// No imports, so the gateway (server/llmGateway.mjs) loads it too.
+const DEFAULT_K = 200;
+const LEVEL_DECAY = 2 / 3;
+
+export const createQuantileSketch = ({ k = DEFAULT_K, n = 0, levels = [[]], offsets = [], min = null, max = null } = {}) => {
+  const state = {
+    k,
+    n,
+    levels: levels.map(level => [...level]),
+    offsets: [...offsets],
+    min,
+    max
+  };
+
+  // Lower levels get smaller capacities; the top one gets k
+  const capacity = level => Math.max(2, Math.ceil(k * LEVEL_DECAY ** (state.levels.length - level - 1)));
+  const size = () => state.levels.reduce((sum, level) => sum + level.length, 0);
+  const maxSize = () => state.levels.reduce((sum, _, level) => sum + capacity(level), 0);
+
+  const compactLevel = (h) => {
+    if (h + 1 >= state.levels.length) state.levels.push([]);
+    const items = state.levels[h].sort((a, b) => a - b);
+    // An odd item out stays at this level
+    const kept = items.length % 2 === 1 ? [items.pop()] : [];
+    // Alternate which half is promoted, so the error doesn't drift one way
+    const offset = state.offsets[h] || 0;
+    state.offsets[h] = 1 - offset;
+    for (let i = offset; i < items.length; i += 2) state.levels[h + 1].push(items[i]);
+    state.levels[h] = kept;
+  };
+
+  const compress = () => {
+    while (size() > maxSize()) {
+      const h = state.levels.findIndex((level, i) => level.length >= capacity(i));
+      compactLevel(h === -1 ? 0 : h);
+    }
+  };
+
+  // [value, weight] pairs in ascending order
+  const weighted = () => state.levels
+    .flatMap((level, h) => level.map(value => [value, 2 ** h]))
+    .sort((a, b) => a[0] - b[0]);
+
+  return {
+    update(value) {
+      if (!Number.isFinite(value)) return;
+      state.levels[0].push(value);
+      state.n += 1;
+      state.min = state.min === null ? value : Math.min(state.min, value);
+      state.max = state.max === null ? value : Math.max(state.max, value);
+      compress();
+    },
+
+    merge(other) {
+      const data = typeof other.toJSON === 'function' ? other.toJSON() : other;
+      if (!data.n) return;
+      data.levels.forEach((level, h) => {
+        while (state.levels.length <= h) state.levels.push([]);
+        state.levels[h].push(...level);
+      });
+      state.n += data.n;
+      state.min = state.min === null ? data.min : Math.min(state.min, data.min);
+      state.max = state.max === null ? data.max : Math.max(state.max, data.max);
+      compress();
+    },
+
+    // Share of observations below value, counting ties as half, in 0..1
+    rank(value) {
+      if (state.n === 0) return null;
+      let below = 0;
+      let equal = 0;
+      let total = 0;
+      state.levels.forEach((level, h) => {
+        const weight = 2 ** h;
+        for (const item of level) {
+          if (item < value) below += weight;
+          else if (item === value) equal += weight;
+          total += weight;
+        }
+      });
+      return (below + equal / 2) / total;
+    },
+
+    quantile(q) {
+      if (state.n === 0) return null;
+      const items = weighted();
+      const total = items.reduce((sum, [, weight]) => sum + weight, 0);
+      let seen = 0;
+      for (const [value, weight] of items) {
+        seen += weight;
+        if (seen >= q * total) return value;
+      }
+      return state.max;
+    },
+
+    get count() {
+      return state.n;
+    },
+
+    toJSON() {
+      return { k: state.k, n: state.n, levels: state.levels, offsets: state.offsets, min: state.min, max: state.max };
+    }
+  };
+};
+
+export const sketchFromJSON = data => createQuantileSketch(data || {});
@@ -0,0 +1,39 @@
+import { buildQuestionIndex, selectQuestions } from './fallbackIndex';
+import { roleQueryTags } from './roleTags';
+import { metrics } from './metrics';
+
+// The fallback bank ships as its own data chunk. It is only fetched the first
+// time a fallback is needed (or prefetched in idle time), and the bundler's
+// hashed file name lets the browser cache it across visits. The tag index is
+// built once when it loads.
+let fallbackIndexPromise = null;
+
+const loadIndex = () => {
+  if (!fallbackIndexPromise) {
+    fallbackIndexPromise = import('../data/interviewQuestionsFallback.json')
+      .then(module => buildQuestionIndex(module.default.questions))
+      .catch((error) => {
+        // Let the next fallback retry instead of caching the failure
+        fallbackIndexPromise = null;
+        throw error;
+      });
+  }
+  return fallbackIndexPromise;
+};
+
+// The ten most relevant fallback questions for the typed role, or the generic
+// set for the difficulty and level when the role isn't recognised. skip(text)
+// marks questions to avoid, such as ones the user has already been asked.
+export const loadFallbackQuestions = async (difficulty, jobLevel, jobRole = '', { skip = null } = {}) => {
+  const index = await loadIndex();
+  const start = performance.now();
+  const questions = selectQuestions(index, { tags: roleQueryTags(jobRole), difficulty, jobLevel, skip });
+  metrics.record('fallback.select_ms', performance.now() - start);
+  return questions;
+};
+
+// Loads the bank ahead of need, e.g. so the service worker caches it for
+// offline use
+export const prefetchFallbackQuestions = () => {
+  loadIndex().catch(error => console.error('Failed to prefetch fallback questions:', error));
+};
@@ -0,0 +1,21 @@
+import { metrics } from './metrics';
+
+// Commit counts and render time per <Profiler> id. Exposed on window so the
+// keystroke benchmark (bench/keystrokeBenchmark.js) can read them. Commit
+// durations also feed the render.<id> metrics series.
+export const renderStats = {};
+
+export const recordRender = (id, phase, actualDuration) => {
+  const stats = renderStats[id] || (renderStats[id] = { commits: 0, actualDuration: 0 });
+  stats.commits += 1;
+  stats.actualDuration += actualDuration;
+  metrics.record(`render.${id}_ms`, actualDuration);
+};
+
+export const resetRenderStats = () => {
+  Object.keys(renderStats).forEach(id => delete renderStats[id]);
+};
+
+if (typeof window !== 'undefined') {
+  window.__renderStats = renderStats;
+}
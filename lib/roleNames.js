@@ -0,0 +1,84 @@
+// Job role name normalization and fuzzy matching, shared by the question bank
+// generator (tools/generateQuestionBank.mjs) and the app. No imports, so Node
+// can load it directly.
+
+// Seniority is chosen separately (jobLevel), so it is dropped from the name
+const DROPPED_WORDS = new Set([
+  'senior', 'sr', 'junior', 'jr', 'lead', 'principal', 'staff', 'entry', 'level',
+  'mid', 'associate', 'trainee', 'intern', 'i', 'ii', 'iii', 'iv', 'a', 'an', 'the'
+]);
+
+const ABBREVIATIONS = {
+  eng: 'engineer',
+  engr: 'engineer',
+  dev: 'developer',
+  mgr: 'manager',
+  admin: 'administrator',
+  rep: 'representative',
+  swe: 'software engineer',
+  sde: 'software engineer',
+  qa: 'quality assurance',
+  hr: 'human resources',
+  ux: 'user experience',
+  ui: 'user interface',
+  rn: 'registered nurse'
+};
+
+export const normalizeRole = name => (name || '')
+  .toLowerCase()
+  .replace(/&/g, ' and ')
+  .replace(/[^a-z0-9]+/g, ' ')
+  .split(' ')
+  .filter(word => word && !DROPPED_WORDS.has(word))
+  .map(word => ABBREVIATIONS[word] || word)
+  .join(' ');
+
+export const roleSlug = name => normalizeRole(name).replace(/ /g, '-');
+
+const bigrams = (text) => {
+  const grams = new Map();
+  const padded = ` ${text} `;
+  for (let i = 0; i < padded.length - 1; i++) {
+    const gram = padded.slice(i, i + 2);
+    grams.set(gram, (grams.get(gram) || 0) + 1);
+  }
+  return grams;
+};
+
+// Dice coefficient over character bigrams, 0..1. Typos and plurals score
+// around 0.9; different roles that share words ("product manager" /
+// "project manager") stay near 0.8.
+export const roleSimilarity = (a, b) => {
+  if (a === b) return 1;
+  const gramsA = bigrams(a);
+  const gramsB = bigrams(b);
+  let shared = 0;
+  let total = 0;
+  for (const [gram, count] of gramsA) {
+    shared += Math.min(count, gramsB.get(gram) || 0);
+    total += count;
+  }
+  for (const count of gramsB.values()) total += count;
+  return total ? (2 * shared) / total : 0;
+};
+
+const sortedWords = text => text.split(' ').sort().join(' ');
+
+// Finds the index entry for a typed role name: exact normalized match, then
+// the same words in another order, then the closest name above minSimilarity.
+// index maps normalized names (including aliases) to shard slugs.
+export const matchRole = (index, jobRole, minSimilarity = 0.85) => {
+  const normalized = normalizeRole(jobRole);
+  if (!normalized) return null;
+  if (index[normalized]) return { slug: index[normalized], name: normalized, similarity: 1 };
+
+  const words = sortedWords(normalized);
+  let best = null;
+  for (const [name, slug] of Object.entries(index)) {
+    const similarity = sortedWords(name) === words ? 1 : roleSimilarity(normalized, name);
+    if (similarity >= minSimilarity && (!best || similarity > best.similarity)) {
+      best = { slug, name, similarity };
+    }
+  }
+  return best;
+};
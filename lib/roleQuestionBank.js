@@ -0,0 +1,37 @@
+import { matchRole } from './roleNames';
+
+// Pre-generated questions for common roles (tools/generateQuestionBank.mjs).
+// The role index is small and loaded once; each role's shard is its own
+// chunk, fetched only when that role is picked, so serving a known role
+// needs no LLM call.
+let indexPromise = null;
+
+const loadIndex = () => {
+  if (!indexPromise) {
+    indexPromise = import('../data/questionBank/index.json')
+      .then(module => module.default.roles)
+      .catch((error) => {
+        indexPromise = null;
+        throw error;
+      });
+  }
+  return indexPromise;
+};
+
+// The bundler emits one chunk per shard file for this template import
+const loadShard = slug => import(`../data/questionBank/shards/${slug}.json`).then(module => module.default);
+
+// Resolves to { questions, role, similarity } or null when the role isn't in
+// the bank
+export const findRoleQuestions = async (jobRole, jobLevel, difficulty) => {
+  const match = matchRole(await loadIndex(), jobRole);
+  if (!match) return null;
+  const shard = await loadShard(match.slug);
+  const questions = shard.sets?.[jobLevel]?.[difficulty];
+  if (!questions || questions.length === 0) return null;
+  return { questions, role: shard.role, similarity: match.similarity };
+};
+
+export const prefetchRoleIndex = () => {
+  loadIndex().catch(error => console.error('Failed to prefetch role index:', error));
+};
@@ -0,0 +1,106 @@
+import { storage } from './storage';
+import { metrics } from './metrics';
+import { config } from './config';
+import { normalizeRole, roleSlug } from './roleNames';
+import { createMessage } from './llmClient';
+import { buildRoleResearchRequest, responseText, splitRoleResearch } from './llmRequests';
+
+// Cache of the role requirements given to F-grade feedback, one document per
+// normalized role and level. They come from a web search request that sees
+// only the role and level, never a candidate's answers, so an entry is the
+// same for every candidate and can live in shared storage. Entries expire
+// after config.roleResearchTtlDays so requirements are refreshed now and then.
+const DAY_MS = 24 * 60 * 60 * 1000;
+const LEVELS = ['entry', 'mid', 'senior'];
+
+// null for a role with nothing left after normalizing (e.g. "!!!") or an
+// unknown level, which are never cached. v2: entries written before research
+// had a request of its own could carry text from a candidate's answers.
+const researchKey = (jobRole, jobLevel) => {
+  const slug = roleSlug(jobRole);
+  return slug && LEVELS.includes(jobLevel) ? `role-research-v2-${slug}-${jobLevel}` : null;
+};
+
+// Resolves to the cached document, or null when there is none or it expired
+export const getRoleResearch = async (jobRole, jobLevel) => {
+  const key = researchKey(jobRole, jobLevel);
+  if (!key) return null;
+  try {
+    const result = await storage.get(key, true);
+    if (result && result.value) {
+      const research = JSON.parse(result.value);
+      if (research.expiresAt > Date.now()) {
+        metrics.mark('role_research.hit');
+        return research;
+      }
+      metrics.mark('role_research.expired');
+      return null;
+    }
+  } catch (error) {
+    console.log('No cached role research:', error);
+  }
+  metrics.mark('role_research.miss');
+  return null;
+};
+
+const saveRoleResearch = async (key, jobRole, jobLevel, research) => {
+  const researchedAt = Date.now();
+  const document = {
+    version: 1,
+    role: jobRole,
+    jobLevel,
+    researchedAt,
+    expiresAt: researchedAt + config.roleResearchTtlDays * DAY_MS,
+    ...research
+  };
+  try {
+    await storage.set(key, JSON.stringify(document), true);
+  } catch (error) {
+    console.error('Failed to cache role research:', error);
+  }
+  return document;
+};
+
+// Researches the role with web search and caches the result. Resolves to the
+// document, or null when the search failed or its reply had no research.
+export const researchRole = async (jobRole, jobLevel) => {
+  const key = researchKey(jobRole, jobLevel);
+  if (!key) return null;
+  try {
+    const data = await createMessage('research', buildRoleResearchRequest(normalizeRole(jobRole), jobLevel));
+    const { research } = splitRoleResearch(responseText(data));
+    return research ? await saveRoleResearch(key, jobRole, jobLevel, research) : null;
+  } catch (error) {
+    console.error('Role research failed:', error);
+    return null;
+  }
+};
+
+const summarize = series => (series ? { count: series.count, mean: series.mean, p50: series.p50, p95: series.p95 } : null);
+
+// Hit rate and F-grade feedback latency with and without cached research,
+// since the metrics were last reset. Also on window.__roleResearch.report().
+export const roleResearchReport = () => {
+  const { series, events } = metrics.snapshot();
+  const count = name => events[`role_research.${name}`]?.count || 0;
+  const hits = count('hit');
+  const lookups = hits + count('miss') + count('expired');
+  const searched = series['grade.f_search_ms'];
+  const cached = series['grade.f_cached_ms'];
+  const savedMsPerHit = searched && cached ? Math.round(searched.mean - cached.mean) : null;
+
+  return {
+    lookups,
+    hits,
+    expired: count('expired'),
+    hitRate: lookups ? +(hits / lookups).toFixed(3) : 0,
+    withSearchMs: summarize(searched),
+    withCacheMs: summarize(cached),
+    savedMsPerHit,
+    savedMsTotal: savedMsPerHit === null ? null : savedMsPerHit * hits
+  };
+};
+
+if (typeof window !== 'undefined') {
+  window.__roleResearch = { report: roleResearchReport };
+}
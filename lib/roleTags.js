@@ -0,0 +1,132 @@
+import { normalizeRole } from './roleNames';
+
+// Maps a typed job role to fallback bank tags. Phrases are checked before
+// single words, so "customer success manager" isn't read as a generic
+// manager. Domain tags are more specific than families and weigh more.
+const FAMILY_WEIGHT = 2;
+const DOMAIN_WEIGHT = 3;
+
+const PHRASES = {
+  'machine learning': ['family:data', 'domain:machine-learning'],
+  'data engineer': ['family:data', 'domain:data-engineering'],
+  'business intelligence': ['family:data', 'domain:reporting'],
+  'full stack': ['family:software', 'domain:frontend', 'domain:backend'],
+  'front end': ['family:software', 'domain:frontend'],
+  'site reliability': ['family:software', 'domain:devops'],
+  'quality assurance': ['family:software', 'domain:testing'],
+  'user experience': ['family:design', 'domain:research'],
+  'user interface': ['family:design'],
+  'human resources': ['family:hr'],
+  'talent acquisition': ['family:hr', 'domain:recruiting'],
+  'customer success': ['family:customer', 'domain:customer-success'],
+  'customer service': ['family:customer'],
+  'customer support': ['family:customer'],
+  'help desk': ['family:it'],
+  'supply chain': ['family:operations', 'domain:supply-chain'],
+  'social media': ['family:marketing', 'domain:content'],
+  'account executive': ['family:sales'],
+  'account manager': ['family:sales', 'domain:account-management'],
+  'product owner': ['family:product-project', 'domain:product'],
+  'registered nurse': ['family:healthcare'],
+  'store manager': ['family:retail']
+};
+
+const WORDS = {
+  software: ['family:software'],
+  developer: ['family:software'],
+  programmer: ['family:software'],
+  frontend: ['family:software', 'domain:frontend'],
+  backend: ['family:software', 'domain:backend'],
+  web: ['family:software', 'domain:frontend'],
+  mobile: ['family:software', 'domain:mobile'],
+  ios: ['family:software', 'domain:mobile'],
+  android: ['family:software', 'domain:mobile'],
+  devops: ['family:software', 'domain:devops'],
+  platform: ['family:software', 'domain:devops'],
+  sre: ['family:software', 'domain:devops'],
+  tester: ['family:software', 'domain:testing'],
+  data: ['family:data'],
+  analytics: ['family:data'],
+  scientist: ['family:data', 'domain:machine-learning'],
+  ml: ['family:data', 'domain:machine-learning'],
+  ai: ['family:data', 'domain:machine-learning'],
+  security: ['family:security'],
+  cybersecurity: ['family:security'],
+  it: ['family:it'],
+  technician: ['family:it'],
+  sysadmin: ['family:it', 'domain:systems'],
+  systems: ['family:it', 'domain:systems'],
+  network: ['family:it', 'domain:systems'],
+  product: ['family:product-project', 'domain:product'],
+  project: ['family:product-project', 'domain:project'],
+  program: ['family:product-project', 'domain:project'],
+  scrum: ['family:product-project', 'domain:project'],
+  designer: ['family:design'],
+  design: ['family:design'],
+  graphic: ['family:design'],
+  marketing: ['family:marketing'],
+  seo: ['family:marketing', 'domain:seo'],
+  content: ['family:marketing', 'domain:content'],
+  copywriter: ['family:marketing', 'domain:content'],
+  writer: ['family:marketing', 'domain:content'],
+  brand: ['family:marketing'],
+  sales: ['family:sales'],
+  salesperson: ['family:sales'],
+  customer: ['family:customer'],
+  accountant: ['family:finance', 'domain:accounting'],
+  accounting: ['family:finance', 'domain:accounting'],
+  bookkeeper: ['family:finance', 'domain:accounting'],
+  auditor: ['family:finance', 'domain:accounting'],
+  finance: ['family:finance', 'domain:analysis'],
+  financial: ['family:finance', 'domain:analysis'],
+  nurse: ['family:healthcare'],
+  nursing: ['family:healthcare'],
+  medical: ['family:healthcare'],
+  pharmacist: ['family:healthcare'],
+  clinical: ['family:healthcare'],
+  physician: ['family:healthcare'],
+  doctor: ['family:healthcare'],
+  therapist: ['family:healthcare'],
+  teacher: ['family:education'],
+  tutor: ['family:education'],
+  educator: ['family:education'],
+  instructor: ['family:education'],
+  professor: ['family:education'],
+  recruiter: ['family:hr', 'domain:recruiting'],
+  operations: ['family:operations'],
+  logistics: ['family:operations', 'domain:supply-chain'],
+  procurement: ['family:operations', 'domain:supply-chain'],
+  warehouse: ['family:operations', 'domain:supply-chain'],
+  administrative: ['family:admin'],
+  receptionist: ['family:admin'],
+  secretary: ['family:admin'],
+  office: ['family:admin'],
+  retail: ['family:retail'],
+  cashier: ['family:retail'],
+  mechanical: ['family:engineering'],
+  civil: ['family:engineering'],
+  electrical: ['family:engineering'],
+  structural: ['family:engineering'],
+  manufacturing: ['family:engineering'],
+  chemical: ['family:engineering'],
+  consultant: ['family:consulting'],
+  consulting: ['family:consulting']
+};
+
+export const roleQueryTags = (jobRole) => {
+  let remaining = ` ${normalizeRole(jobRole)} `;
+  const tags = new Set();
+  for (const [phrase, phraseTags] of Object.entries(PHRASES)) {
+    if (remaining.includes(` ${phrase} `)) {
+      phraseTags.forEach(tag => tags.add(tag));
+      remaining = remaining.replace(` ${phrase} `, ' ');
+    }
+  }
+  for (const word of remaining.trim().split(' ')) {
+    (WORDS[word] || []).forEach(tag => tags.add(tag));
+  }
+  // A software "engineer" with no other hint is the common case
+  if (tags.size === 0 && / engineer /.test(remaining)) tags.add('family:software');
+
+  return [...tags].map(tag => ({ tag, weight: tag.startsWith('domain:') ? DOMAIN_WEIGHT : FAMILY_WEIGHT }));
+};
@@ -0,0 +1,77 @@
+import { storage } from './storage';
+import { config } from './config';
+import { roleSlug } from './roleNames';
+import { createQuantileSketch, sketchFromJSON } from './quantileSketch';
+
+// Distribution of final scores across all candidates, as quantile sketches
+// (lib/quantileSketch.js) per role, level and difficulty, plus coarser ones
+// for when a role has few interviews yet. A candidate's standing is their
+// percentile in the most specific distribution with enough samples.
+//
+// With config.scoreSketchUrl set, the gateway (server/llmGateway.mjs) holds
+// the sketches and merges every client's updates; otherwise they live in
+// shared storage.
+const MIN_SAMPLES = 20;
+
+const sketchScopes = ({ jobRole, jobLevel, difficulty }) => [
+  { key: `${roleSlug(jobRole)}|${jobLevel}|${difficulty}`, basis: 'role' },
+  { key: `*|${jobLevel}|${difficulty}`, basis: 'level' },
+  { key: `*|*|${difficulty}`, basis: 'difficulty' }
+];
+
+const loadSketches = async (keys) => {
+  if (config.scoreSketchUrl) {
+    const response = await fetch(`${config.scoreSketchUrl}?keys=${keys.map(encodeURIComponent).join(',')}`, {
+      headers: { 'X-AIIC-Token': config.llmGatewayToken }
+    });
+    if (!response.ok) throw new Error(`Sketch request failed: ${response.status}`);
+    const sketches = await response.json();
+    return keys.map(key => sketchFromJSON(sketches[key]));
+  }
+  return Promise.all(keys.map(async (key) => {
+    const result = await storage.get(`score-sketch-${key}`, true);
+    return sketchFromJSON(result && result.value ? JSON.parse(result.value) : null);
+  }));
+};
+
+// Resolves to { percentile, count, basis } or null while there is too little data
+export const getScoreStanding = async (context, score) => {
+  try {
+    const scopes = sketchScopes(context);
+    const sketches = await loadSketches(scopes.map(scope => scope.key));
+    const index = sketches.findIndex(sketch => sketch.count >= MIN_SAMPLES);
+    if (index === -1) return null;
+    return {
+      percentile: Math.round(sketches[index].rank(score) * 100),
+      count: sketches[index].count,
+      basis: scopes[index].basis
+    };
+  } catch (error) {
+    console.error('Failed to load score distribution:', error);
+    return null;
+  }
+};
+
+export const recordScore = async (context, score) => {
+  const keys = sketchScopes(context).map(scope => scope.key);
+  try {
+    if (config.scoreSketchUrl) {
+      // A one-score sketch per scope; the gateway merges it into its own
+      const single = createQuantileSketch();
+      single.update(score);
+      await fetch(config.scoreSketchUrl, {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json', 'X-AIIC-Token': config.llmGatewayToken },
+        body: JSON.stringify({ updates: keys.map(key => ({ key, sketch: single.toJSON() })) })
+      });
+      return;
+    }
+    const sketches = await loadSketches(keys);
+    await Promise.all(sketches.map((sketch, i) => {
+      sketch.update(score);
+      return storage.set(`score-sketch-${keys[i]}`, JSON.stringify(sketch), true);
+    }));
+  } catch (error) {
+    console.error('Failed to record score:', error);
+  }
+};
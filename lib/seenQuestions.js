@@ -0,0 +1,48 @@
+import { storage } from './storage';
+import { config } from './config';
+import { createAgingBloomFilter } from './bloomFilter';
+
+// Questions each user has already been asked, as a Bloom filter of normalized
+// question text (lib/bloomFilter.js), so repeat users aren't served the same
+// bank, fallback or cached questions again. It stays a few KB however many
+// interviews a user takes; a false positive only means a question that
+// wasn't asked is passed over.
+let loaded = { email: null, promise: null };
+
+export const normalizeQuestion = text => text
+  .toLowerCase()
+  .replace(/^\s*\d+[.)]\s*/, '')
+  .replace(/[^\p{L}\p{N}]+/gu, ' ')
+  .trim();
+
+const createFilter = (stored = {}) => createAgingBloomFilter({
+  capacity: config.seenQuestionCapacity,
+  falsePositiveRate: config.seenQuestionFalsePositiveRate,
+  ...stored
+});
+
+// Resolves to { has(question) } for the user; loaded once per sign-in
+export const loadSeenQuestions = (email) => {
+  if (loaded.email !== email || !loaded.promise) {
+    loaded = {
+      email,
+      promise: storage.get(`seen-questions-${email}`, false)
+        .then(result => createFilter(result && result.value ? JSON.parse(result.value) : {}))
+        .catch(() => createFilter())
+    };
+  }
+  return loaded.promise.then(filter => ({
+    has: question => filter.has(normalizeQuestion(question))
+  }));
+};
+
+export const markQuestionsSeen = async (email, questions) => {
+  try {
+    await loadSeenQuestions(email);
+    const filter = await loaded.promise;
+    questions.forEach(question => filter.add(normalizeQuestion(question)));
+    await storage.set(`seen-questions-${email}`, JSON.stringify(filter), false);
+  } catch (error) {
+    console.error('Failed to save seen questions:', error);
+  }
+};
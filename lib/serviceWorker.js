@@ -0,0 +1,22 @@
+import { config } from './config';
+import { prefetchFallbackQuestions } from './questionBank';
+import { prefetchRoleIndex } from './roleQuestionBank';
+
+// Registers the offline service worker (sw.js). Once it controls the page,
+// the fallback question bank and the role index are fetched in idle time so
+// the worker has them cached before the connection is ever lost.
+export const registerServiceWorker = async () => {
+  if (!config.serviceWorkerUrl || typeof navigator === 'undefined' || !('serviceWorker' in navigator)) return;
+
+  try {
+    await navigator.serviceWorker.register(config.serviceWorkerUrl);
+    await navigator.serviceWorker.ready;
+    const whenIdle = window.requestIdleCallback || (callback => setTimeout(callback, 2000));
+    whenIdle(() => {
+      prefetchFallbackQuestions();
+      prefetchRoleIndex();
+    });
+  } catch (error) {
+    console.error('Service worker registration failed:', error);
+  }
+};
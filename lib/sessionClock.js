@@ -0,0 +1,105 @@
+import { useSyncExternalStore } from 'react';
+
+// Session clock based on performance.now() timestamps. Elapsed time is derived
+// from the clock rather than counted tick by tick, so throttled timers in a
+// background tab can't make it drift. Only subscribers re-render on each tick.
+const now = () => (typeof performance !== 'undefined' ? performance.now() : Date.now());
+
+export const formatTime = (seconds) => {
+  const mins = Math.floor(seconds / 60);
+  const secs = seconds % 60;
+  return `${mins}:${secs.toString().padStart(2, '0')}`;
+};
+
+export const createSessionClock = () => {
+  let baseMs = 0;          // elapsed time banked before the current run
+  let startedAt = null;    // performance.now() when the current run began
+  let questionStartMs = 0; // elapsed time when the current question was shown
+  let questionTimes = [];  // seconds spent on each submitted question
+  let timeout = null;
+  const listeners = new Set();
+
+  const elapsedMs = () => baseMs + (startedAt === null ? 0 : now() - startedAt);
+  const getSeconds = () => Math.floor(elapsedMs() / 1000);
+
+  const emit = () => listeners.forEach(listener => listener());
+
+  const scheduleTick = () => {
+    // Wake up on the next whole second of elapsed time instead of a fixed
+    // interval, so a late timer never pushes the following ticks back.
+    const delay = 1000 - (elapsedMs() % 1000);
+    timeout = setTimeout(() => {
+      emit();
+      scheduleTick();
+    }, delay);
+  };
+
+  const cancelTick = () => {
+    clearTimeout(timeout);
+    timeout = null;
+  };
+
+  // Catch the display up straight away when a throttled tab becomes visible
+  if (typeof document !== 'undefined') {
+    document.addEventListener('visibilitychange', () => {
+      if (document.visibilityState === 'visible' && startedAt !== null) emit();
+    });
+  }
+
+  return {
+    start(initialSeconds = 0, initialQuestionTimes = []) {
+      cancelTick();
+      baseMs = initialSeconds * 1000;
+      questionTimes = [...initialQuestionTimes];
+      questionStartMs = baseMs;
+      startedAt = now();
+      scheduleTick();
+      emit();
+    },
+
+    stop() {
+      if (startedAt === null) return;
+      baseMs = elapsedMs();
+      startedAt = null;
+      cancelTick();
+      emit();
+    },
+
+    reset() {
+      cancelTick();
+      baseMs = 0;
+      startedAt = null;
+      questionStartMs = 0;
+      questionTimes = [];
+      emit();
+    },
+
+    isRunning: () => startedAt !== null,
+
+    // Marks the moment the current question became visible to the candidate
+    beginQuestion() {
+      questionStartMs = elapsedMs();
+    },
+
+    // Records the time spent on the current question and returns it in seconds
+    lapQuestion() {
+      const seconds = Math.round((elapsedMs() - questionStartMs) / 1000);
+      questionTimes = [...questionTimes, seconds];
+      questionStartMs = elapsedMs();
+      return seconds;
+    },
+
+    getQuestionTimes: () => questionTimes,
+    getSeconds,
+
+    subscribe(listener) {
+      listeners.add(listener);
+      return () => listeners.delete(listener);
+    }
+  };
+};
+
+export const sessionClock = createSessionClock();
+
+export const useSessionSeconds = (clock = sessionClock) =>
+  useSyncExternalStore(clock.subscribe, clock.getSeconds, clock.getSeconds);
@@ -0,0 +1,19 @@
+import { metrics } from './metrics';
+
+// Startup milestones in milliseconds since navigation start: 'shell' when the
+// app frame first commits and 'first-screen' when the first lazily loaded
+// screen commits. Each is also recorded as a startup.<name>_ms metric. Read
+// them from window.__startupTiming, or feed a saved copy to
+// tools/bundleReport.mjs with --timing.
+export const startupTiming = {};
+
+export const markStartup = (name) => {
+  if (startupTiming[name] !== undefined || typeof performance === 'undefined') return;
+  startupTiming[name] = Math.round(performance.now());
+  performance.mark(`startup-${name}`);
+  metrics.record(`startup.${name.replace('-', '_')}_ms`, startupTiming[name]);
+};
+
+if (typeof window !== 'undefined') {
+  window.__startupTiming = startupTiming;
+}
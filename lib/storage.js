@@ -0,0 +1,24 @@
+import { metrics } from './metrics';
+
+// Thin wrapper over window.storage with the same call signatures. It records
+// read/write latency and value size for the metrics overlay.
+const sizeOf = (value) => (typeof value === 'string' ? value.length : 0);
+
+export const storage = {
+  async get(key, shared) {
+    const result = await metrics.time('storage.read_ms', () => window.storage.get(key, shared));
+    if (result && result.value) {
+      metrics.record('storage.read_bytes', sizeOf(result.value));
+    }
+    return result;
+  },
+
+  async set(key, value, shared) {
+    metrics.record('storage.write_bytes', sizeOf(value));
+    return metrics.time('storage.write_ms', () => window.storage.set(key, value, shared));
+  },
+
+  async delete(key, shared) {
+    return metrics.time('storage.delete_ms', () => window.storage.delete(key, shared));
+  }
+};
@@ -0,0 +1,31 @@
+import { useSyncExternalStore } from 'react';
+
+// Minimal external store. Components subscribe through useStore with a
+// selector and only re-render when the selected value changes.
+export const createStore = (initialState) => {
+  let state = initialState;
+  const listeners = new Set();
+
+  return {
+    getState: () => state,
+
+    setState(partial) {
+      const next = typeof partial === 'function' ? partial(state) : partial;
+      if (Object.keys(next).every(key => Object.is(state[key], next[key]))) return;
+      state = { ...state, ...next };
+      listeners.forEach(listener => listener());
+    },
+
+    subscribe(listener) {
+      listeners.add(listener);
+      return () => listeners.delete(listener);
+    }
+  };
+};
+
+// Selectors must return primitives or references already held in the state,
+// otherwise every store update looks like a change.
+export const useStore = (store, selector) => {
+  const getSnapshot = () => selector(store.getState());
+  return useSyncExternalStore(store.subscribe, getSnapshot, getSnapshot);
+};
@@ -0,0 +1,103 @@
+import { config } from './config';
+
+// Buffered field telemetry. Events are queued in memory and sent in batches
+// when the queue reaches maxBatch or every flushIntervalMs, one request at a
+// time. While a request is in flight and the queue is full, new events are
+// dropped and counted rather than queued without bound. On page hide the
+// remaining queue goes out with navigator.sendBeacon.
+const newSessionId = () => (
+  typeof crypto !== 'undefined' && crypto.randomUUID
+    ? crypto.randomUUID()
+    : `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}`
+);
+
+export const createTelemetry = ({
+  endpoint,
+  maxBatch = 50,
+  maxQueue = 500,
+  flushIntervalMs = 10000
+} = {}) => {
+  const sessionId = newSessionId();
+  let queue = [];
+  let dropped = 0;
+  let inFlight = false;
+  let timeout = null;
+
+  const takeBatch = (size) => {
+    const events = queue.slice(0, size);
+    queue = queue.slice(size);
+    const batch = { sessionId, sentAt: new Date().toISOString(), dropped, events };
+    dropped = 0;
+    return batch;
+  };
+
+  const scheduleFlush = () => {
+    if (timeout === null) {
+      timeout = setTimeout(() => {
+        timeout = null;
+        flush();
+      }, flushIntervalMs);
+    }
+  };
+
+  const flush = async () => {
+    if (!endpoint || inFlight || queue.length === 0) return;
+    inFlight = true;
+    const batch = takeBatch(maxBatch);
+    try {
+      const response = await fetch(endpoint, {
+        method: 'POST',
+        headers: { 'Content-Type': 'text/plain' },
+        body: JSON.stringify(batch),
+        keepalive: true
+      });
+      if (!response.ok) {
+        throw new Error(`Telemetry upload failed: ${response.status}`);
+      }
+    } catch (error) {
+      // Field data is best effort; the batch is counted as dropped, not retried
+      dropped += batch.dropped + batch.events.length;
+      console.log('Telemetry flush failed:', error);
+    } finally {
+      inFlight = false;
+    }
+    if (queue.length >= maxBatch) flush();
+    else if (queue.length > 0) scheduleFlush();
+  };
+
+  const flushWithBeacon = () => {
+    if (!endpoint || queue.length === 0 || typeof navigator === 'undefined' || !navigator.sendBeacon) return;
+    // text/plain keeps the beacon a CORS simple request
+    const batch = takeBatch(queue.length);
+    const body = new Blob([JSON.stringify(batch)], { type: 'text/plain' });
+    if (!navigator.sendBeacon(endpoint, body)) {
+      dropped += batch.dropped + batch.events.length;
+    }
+  };
+
+  if (endpoint && typeof window !== 'undefined') {
+    window.addEventListener('pagehide', flushWithBeacon);
+    document.addEventListener('visibilitychange', () => {
+      if (document.visibilityState === 'hidden') flushWithBeacon();
+    });
+  }
+
+  return {
+    track(type, props = {}) {
+      if (!endpoint) return;
+      if (queue.length >= maxQueue) {
+        dropped += 1;
+        return;
+      }
+      queue.push({ type, ts: Date.now(), ...props });
+      if (queue.length >= maxBatch) flush();
+      else scheduleFlush();
+    },
+
+    flush,
+
+    stats: () => ({ queued: queue.length, dropped, inFlight })
+  };
+};
+
+export const telemetry = createTelemetry({ endpoint: config.telemetryUrl });
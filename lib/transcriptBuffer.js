@@ -0,0 +1,68 @@
+// Buffers speech recognition output between renders. Final segments are kept
+// as an append-only list (with a cached joined string), interim text is
+// replaced on every event, and onCommit receives the combined text at most
+// once per animation frame however fast recognition events arrive.
+const now = () => (typeof performance !== 'undefined' ? performance.now() : Date.now());
+
+const scheduleFrame = (callback) => {
+  // Animation frames pause in hidden tabs, so fall back to a coarse timer there
+  if (typeof requestAnimationFrame !== 'undefined' && !(typeof document !== 'undefined' && document.hidden)) {
+    const id = requestAnimationFrame(callback);
+    return () => cancelAnimationFrame(id);
+  }
+  const id = setTimeout(callback, 100);
+  return () => clearTimeout(id);
+};
+
+export const createTranscriptBuffer = ({ onCommit }) => {
+  const segments = [];
+  let finalText = '';
+  let interimText = '';
+  let segmentStartedAt = null;
+  let cancelScheduled = null;
+  const startedAt = now();
+
+  const commit = () => {
+    cancelScheduled = null;
+    onCommit(finalText + interimText);
+  };
+
+  const scheduleCommit = () => {
+    if (cancelScheduled === null) {
+      cancelScheduled = scheduleFrame(commit);
+    }
+  };
+
+  return {
+    setInterim(text) {
+      if (text && segmentStartedAt === null) segmentStartedAt = now();
+      interimText = text;
+      scheduleCommit();
+    },
+
+    appendFinal(text) {
+      const finalizedAt = now();
+      segments.push({
+        text,
+        // Milliseconds since recording started
+        start: Math.round((segmentStartedAt ?? finalizedAt) - startedAt),
+        end: Math.round(finalizedAt - startedAt)
+      });
+      segmentStartedAt = null;
+      finalText += text + ' ';
+      scheduleCommit();
+    },
+
+    // Commits immediately, e.g. when recognition ends. With finalOnly the
+    // pending interim text is discarded.
+    flush({ finalOnly = false } = {}) {
+      if (cancelScheduled) cancelScheduled();
+      cancelScheduled = null;
+      if (finalOnly) interimText = '';
+      onCommit(finalOnly ? finalText.trim() : finalText + interimText);
+    },
+
+    getFinalText: () => finalText.trim(),
+    getSegments: () => segments
+  };
+};
@@ -0,0 +1,180 @@
+import { createDatabase, requestToPromise, transactionDone } from './idb';
+import { interviewStore } from './interviewStore';
+import { config } from './config';
+
+// Token and cost ledger. The usage of every Messages API response is appended
+// to a per-user log in IndexedDB as one compact record, and the day and month
+// totals it belongs to are updated in the same transaction, so reports and
+// budget checks never rescan the log. Budgets (config.usageBudget) are checked
+// against the signed-in user's current totals, which are kept in memory.
+const openDb = createDatabase('aiic-usage', 1, (db) => {
+  // { u: user, t: time, c: call type, m: model, i/o: input/output tokens,
+  //   s: web searches, ms: latency, usd: cost }
+  const entries = db.createObjectStore('entries', { autoIncrement: true });
+  entries.createIndex('user', 'u');
+  const totals = db.createObjectStore('totals', { keyPath: 'id' });
+  totals.createIndex('user', 'user');
+});
+
+const pad = n => String(n).padStart(2, '0');
+// Local calendar day and month, which is what a user means by "today"
+const dayOf = date => `${date.getFullYear()}-${pad(date.getMonth() + 1)}-${pad(date.getDate())}`;
+const monthOf = date => `${date.getFullYear()}-${pad(date.getMonth() + 1)}`;
+
+export const usageCost = (model, usage) => {
+  const price = config.modelPricing[model] || config.modelPricing.default;
+  const searches = usage.server_tool_use?.web_search_requests || 0;
+  return ((usage.input_tokens || 0) * price.input + (usage.output_tokens || 0) * price.output) / 1e6
+    + (searches * config.webSearchPricePerThousand) / 1000;
+};
+
+const emptyTotals = (user, period) => ({
+  id: `${user}|${period}`,
+  user,
+  period,
+  calls: 0,
+  inputTokens: 0,
+  outputTokens: 0,
+  searches: 0,
+  costUsd: 0,
+  latencyMs: 0,
+  byType: {}
+});
+
+const addEntry = (totals, entry) => {
+  const byType = totals.byType[entry.c] || { calls: 0, inputTokens: 0, outputTokens: 0, costUsd: 0 };
+  return {
+    ...totals,
+    calls: totals.calls + 1,
+    inputTokens: totals.inputTokens + entry.i,
+    outputTokens: totals.outputTokens + entry.o,
+    searches: totals.searches + entry.s,
+    costUsd: totals.costUsd + entry.usd,
+    latencyMs: totals.latencyMs + entry.ms,
+    byType: {
+      ...totals.byType,
+      [entry.c]: {
+        calls: byType.calls + 1,
+        inputTokens: byType.inputTokens + entry.i,
+        outputTokens: byType.outputTokens + entry.o,
+        costUsd: byType.costUsd + entry.usd
+      }
+    }
+  };
+};
+
+// The signed-in user's totals for the current day and month
+let current = null;
+let loading = null;
+// Records are written one at a time so totals are never read stale
+let pending = Promise.resolve();
+
+const loadCurrent = async (user) => {
+  const date = new Date();
+  const day = dayOf(date);
+  const month = monthOf(date);
+  if (current && current.user === user && current.day.period === day) return current;
+  if (!loading) {
+    loading = (async () => {
+      const db = await openDb();
+      const store = db.transaction('totals').objectStore('totals');
+      const [dayTotals, monthTotals] = await Promise.all([
+        requestToPromise(store.get(`${user}|${day}`)),
+        requestToPromise(store.get(`${user}|${month}`))
+      ]);
+      current = {
+        user,
+        day: dayTotals || emptyTotals(user, day),
+        month: monthTotals || emptyTotals(user, month)
+      };
+      return current;
+    })().finally(() => {
+      loading = null;
+    });
+  }
+  return loading;
+};
+
+export const recordUsage = ({ callType, model, usage, latencyMs }) => {
+  const user = interviewStore.getState().currentUser?.email;
+  if (!user || !usage || typeof indexedDB === 'undefined') return pending;
+  const entry = {
+    u: user,
+    t: Date.now(),
+    c: callType,
+    m: model,
+    i: usage.input_tokens || 0,
+    o: usage.output_tokens || 0,
+    s: usage.server_tool_use?.web_search_requests || 0,
+    ms: Math.round(latencyMs),
+    usd: usageCost(model, usage)
+  };
+  const date = new Date(entry.t);
+
+  pending = pending.then(async () => {
+    const db = await openDb();
+    const tx = db.transaction(['entries', 'totals'], 'readwrite');
+    tx.objectStore('entries').add(entry);
+    const totals = tx.objectStore('totals');
+    const updated = await Promise.all([dayOf(date), monthOf(date)].map(async (period) => {
+      const existing = await requestToPromise(totals.get(`${user}|${period}`));
+      const next = addEntry(existing || emptyTotals(user, period), entry);
+      totals.put(next);
+      return next;
+    }));
+    await transactionDone(tx);
+    if (current?.user === user && current.day.period === updated[0].period) {
+      current = { user, day: updated[0], month: updated[1] };
+    }
+  }).catch(error => console.error('Failed to record usage:', error));
+  return pending;
+};
+
+// Share of the tightest configured budget used so far; 0 when none is set
+const budgetUsage = ({ day, month }) => {
+  const budget = config.usageBudget;
+  const shares = [
+    [day.inputTokens + day.outputTokens, budget.dailyTokens],
+    [month.inputTokens + month.outputTokens, budget.monthlyTokens],
+    [day.costUsd, budget.dailyCostUsd],
+    [month.costUsd, budget.monthlyCostUsd]
+  ].filter(([, limit]) => limit > 0).map(([used, limit]) => used / limit);
+  return shares.length ? Math.max(...shares) : 0;
+};
+
+// 'normal', 'economy' once config.usageBudget.economyAt of a budget is used,
+// or 'exhausted'. The app degrades to cheaper paths as the level rises.
+export const getBudgetLevel = async () => {
+  const user = interviewStore.getState().currentUser?.email;
+  if (!user || typeof indexedDB === 'undefined') return 'normal';
+  try {
+    await pending;
+    const used = budgetUsage(await loadCurrent(user));
+    if (used >= 1) return 'exhausted';
+    if (used >= config.usageBudget.economyAt) return 'economy';
+  } catch (error) {
+    console.error('Failed to check usage budget:', error);
+  }
+  return 'normal';
+};
+
+// Daily and monthly totals for the usage screen, newest first
+export const loadUsageReport = async (user) => {
+  await pending;
+  const db = await openDb();
+  const all = await requestToPromise(db.transaction('totals').objectStore('totals').index('user').getAll(IDBKeyRange.only(user)));
+  const byPeriod = (a, b) => b.period.localeCompare(a.period);
+  const date = new Date();
+  const totals = {
+    day: all.find(t => t.period === dayOf(date)) || emptyTotals(user, dayOf(date)),
+    month: all.find(t => t.period === monthOf(date)) || emptyTotals(user, monthOf(date))
+  };
+  return {
+    days: all.filter(t => t.period.length === 10).sort(byPeriod),
+    months: all.filter(t => t.period.length === 7).sort(byPeriod),
+    today: totals.day,
+    thisMonth: totals.month,
+    budget: config.usageBudget,
+    budgetUsed: budgetUsage(totals)
+  };
+};
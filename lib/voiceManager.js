@@ -0,0 +1,100 @@
+// Speech synthesis with the preferred UK voice resolved once at startup and
+// the next utterance built ahead of time, so reading a question out starts
+// without waiting on getVoices()/voiceschanged.
+const VOICE_TIMEOUT_MS = 3000;
+
+let voicePromise = null;
+let resolvedVoice = null;
+let preparedText = null;
+let preparedUtterance = null;
+// Held so the playing utterance isn't garbage collected before onend fires
+let currentUtterance = null;
+
+const synth = () => (typeof window !== 'undefined' ? window.speechSynthesis : undefined);
+
+// Prefer UK English voices (Google UK English, Microsoft voices, etc.)
+const findUkVoice = (voices) => voices.find(voice =>
+  voice.lang === 'en-GB' ||
+  voice.name.includes('UK') ||
+  voice.name.includes('British') ||
+  voice.name.includes('Daniel') ||
+  voice.name.includes('Martha')
+) || null;
+
+export const resolveVoice = () => {
+  if (!voicePromise) {
+    voicePromise = new Promise((resolve) => {
+      const speech = synth();
+      if (!speech) {
+        resolve(null);
+        return;
+      }
+      if (speech.getVoices().length > 0) {
+        resolve(findUkVoice(speech.getVoices()));
+        return;
+      }
+      // Voices load asynchronously in some browsers
+      const onVoicesChanged = () => {
+        clearTimeout(timeout);
+        speech.removeEventListener('voiceschanged', onVoicesChanged);
+        resolve(findUkVoice(speech.getVoices()));
+      };
+      const timeout = setTimeout(onVoicesChanged, VOICE_TIMEOUT_MS);
+      speech.addEventListener('voiceschanged', onVoicesChanged);
+    }).then((voice) => {
+      resolvedVoice = voice;
+      return voice;
+    });
+  }
+  return voicePromise;
+};
+
+const createUtterance = (text) => {
+  const utterance = new SpeechSynthesisUtterance(text);
+  utterance.rate = 0.95;
+  utterance.pitch = 1.05;
+  utterance.volume = 1;
+  if (resolvedVoice) {
+    utterance.voice = resolvedVoice;
+  } else {
+    // Still resolving: pick the voice up as soon as it is known
+    resolveVoice().then((voice) => {
+      if (voice) utterance.voice = voice;
+    });
+  }
+  return utterance;
+};
+
+export const voiceManager = {
+  // Builds the utterance for text now so speak(text) can start immediately
+  prepare(text) {
+    if (!synth() || !text || preparedText === text) return;
+    preparedText = text;
+    preparedUtterance = createUtterance(text);
+  },
+
+  speak(text, { onstart, onend, onerror } = {}) {
+    const speech = synth();
+    if (!speech || !text) return;
+
+    // Stop any current speech
+    speech.cancel();
+
+    const utterance = preparedText === text ? preparedUtterance : createUtterance(text);
+    preparedText = null;
+    preparedUtterance = null;
+
+    utterance.onstart = onstart;
+    utterance.onend = onend;
+    utterance.onerror = onerror;
+
+    currentUtterance = utterance;
+    speech.speak(utterance);
+  },
+
+  cancel() {
+    const speech = synth();
+    if (speech) speech.cancel();
+    currentUtterance = null;
+  }
+};
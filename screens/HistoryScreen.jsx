@@ -0,0 +1,196 @@
+import React, { memo, useMemo, useRef } from 'react';
+import { History, TrendingUp, Award, Download, Upload } from 'lucide-react';
+import { useInterviewStore } from '../lib/interviewStore';
+import { getScoreCategory, setCurrentScreen, exportHistory, importHistory } from '../lib/interviewActions';
+import { summarizeAggregates } from '../lib/historyAggregates';
+
+const StatCard = ({ label, value, detail }) => (
+  <div className="bg-white rounded-lg p-4 text-center">
+    <div className="text-2xl font-bold text-gray-800">{value}</div>
+    <div className="text-sm text-gray-600">{label}</div>
+    {detail && <div className="text-xs text-gray-500 mt-1">{detail}</div>}
+  </div>
+);
+
+// Progress across every finished interview, from the running aggregates
+const ProgressDashboard = memo(function ProgressDashboard({ stats }) {
+  const summary = useMemo(() => summarizeAggregates(stats), [stats]);
+  const improvement = summary.improvementPerInterview;
+
+  return (
+    <div className="bg-gradient-to-br from-indigo-50 to-purple-50 border-2 border-indigo-200 rounded-xl p-6 mb-8">
+      <h3 className="text-xl font-semibold text-gray-800 mb-4 flex items-center gap-2">
+        <TrendingUp className="w-6 h-6 text-indigo-600" />
+        Your Progress
+      </h3>
+
+      <div className="grid grid-cols-4 gap-4 mb-6">
+        <StatCard label="Interviews" value={summary.count} />
+        <StatCard label="Average Score" value={`${summary.average}%`} detail={`Last ${summary.recentCount}: ${summary.recentAverage}%`} />
+        <StatCard
+          label="Trend"
+          value={`${summary.trend}%`}
+          detail={improvement === 0 ? 'Steady' : `${improvement > 0 ? '+' : ''}${improvement} per interview`}
+        />
+        <StatCard
+          label="Best Score"
+          value={summary.best ? `${summary.best.score}%` : '-'}
+          detail={summary.best?.jobRole}
+        />
+      </div>
+
+      <div className="grid grid-cols-2 gap-6 text-sm">
+        <div>
+          <h4 className="font-semibold text-gray-700 mb-2 flex items-center gap-2">
+            <Award className="w-4 h-4 text-purple-600" />
+            By Role
+          </h4>
+          <table className="w-full">
+            <thead>
+              <tr className="text-left text-gray-500">
+                <th>Role</th><th>Count</th><th>Avg</th><th>Best</th>
+              </tr>
+            </thead>
+            <tbody>
+              {summary.roles.slice(0, 5).map(role => (
+                <tr key={role.name} className="border-t border-indigo-100">
+                  <td className="py-1 pr-2">{role.name}</td>
+                  <td>{role.count}</td>
+                  <td className={getScoreCategory(role.average).color}>{role.average}%</td>
+                  <td>{role.best}%</td>
+                </tr>
+              ))}
+            </tbody>
+          </table>
+        </div>
+        <div>
+          <h4 className="font-semibold text-gray-700 mb-2">By Difficulty</h4>
+          <div className="space-y-2">
+            {summary.difficulties.map(({ difficulty, count, average }) => (
+              <div key={difficulty}>
+                <div className="flex justify-between text-gray-600 mb-1">
+                  <span className="capitalize">{difficulty} ({count})</span>
+                  <span>{average}%</span>
+                </div>
+                <div className="h-2 bg-white rounded">
+                  <div className="h-2 bg-indigo-400 rounded" style={{ width: `${average}%` }}></div>
+                </div>
+              </div>
+            ))}
+          </div>
+          <div className="flex gap-3 mt-4 text-gray-600">
+            {Object.entries(summary.grades).map(([grade, count]) => (
+              <span key={grade}>{grade}: {count}</span>
+            ))}
+          </div>
+        </div>
+      </div>
+    </div>
+  );
+});
+
+const transferMessage = (transfer) => {
+  if (transfer.error) return transfer.error;
+  if (transfer.kind === 'export') return transfer.done ? 'History exported.' : 'Exporting history...';
+  return transfer.done
+    ? `Imported ${transfer.records} records.`
+    : `Importing history... ${transfer.records} records so far`;
+};
+
+export default memo(function HistoryScreen() {
+  const interviewHistory = useInterviewStore(s => s.interviewHistory);
+  const historyStats = useInterviewStore(s => s.historyStats);
+  const historyTransfer = useInterviewStore(s => s.historyTransfer);
+  const fileInput = useRef(null);
+  const transferring = Boolean(historyTransfer && !historyTransfer.done && !historyTransfer.error);
+
+  return (
+    <div className="bg-white rounded-lg shadow-lg p-8">
+      <div className="flex items-center justify-between mb-6">
+        <h2 className="text-2xl font-bold text-gray-800">Interview History</h2>
+        <div className="flex gap-2">
+          <button
+            onClick={exportHistory}
+            disabled={transferring}
+            className="px-4 py-2 bg-gray-100 text-gray-700 rounded-lg hover:bg-gray-200 transition flex items-center gap-2 disabled:opacity-50"
+          >
+            <Download className="w-4 h-4" />
+            Export
+          </button>
+          <button
+            onClick={() => fileInput.current?.click()}
+            disabled={transferring}
+            className="px-4 py-2 bg-gray-100 text-gray-700 rounded-lg hover:bg-gray-200 transition flex items-center gap-2 disabled:opacity-50"
+          >
+            <Upload className="w-4 h-4" />
+            Import
+          </button>
+          <input
+            ref={fileInput}
+            type="file"
+            accept=".ndjson,.gz,application/x-ndjson,application/gzip"
+            className="hidden"
+            onChange={(e) => {
+              importHistory(e.target.files[0]);
+              e.target.value = '';
+            }}
+          />
+          <button
+            onClick={() => setCurrentScreen('home')}
+            className="px-4 py-2 bg-indigo-600 text-white rounded-lg hover:bg-indigo-700 transition"
+          >
+            New Interview
+          </button>
+        </div>
+      </div>
+
+      {historyTransfer && (
+        <div className={`mb-6 p-3 rounded-lg text-sm ${historyTransfer.error ? 'bg-red-50 text-red-700' : 'bg-indigo-50 text-indigo-800'}`}>
+          {transferMessage(historyTransfer)}
+        </div>
+      )}
+
+      {historyStats?.count > 0 && <ProgressDashboard stats={historyStats} />}
+
+      {interviewHistory.length === 0 ? (
+        <div className="text-center py-12">
+          <History className="w-16 h-16 text-gray-300 mx-auto mb-4" />
+          <p className="text-gray-600">No interview history yet. Start your first practice interview!</p>
+        </div>
+      ) : (
+        <div className="space-y-4">
+          {interviewHistory.map((interview) => {
+            const scoreCategory = getScoreCategory(interview.score);
+            return (
+              <div key={interview.id} className={`border-2 ${scoreCategory.border} ${scoreCategory.bg} rounded-lg p-6`}>
+                <div className="flex justify-between items-start">
+                  <div className="flex-1">
+                    <h3 className="text-lg font-bold text-gray-800">{interview.jobRole}</h3>
+                    <div className="flex flex-wrap gap-3 mt-2 text-sm text-gray-600">
+                      <span className="capitalize">Level: {interview.jobLevel}</span>
+                      <span>•</span>
+                      <span className="capitalize">Difficulty: {interview.difficulty}</span>
+                      <span>•</span>
+                      <span>Time: {interview.time}</span>
+                      <span>•</span>
+                      <span>{interview.date}</span>
+                    </div>
+                  </div>
+                  <div className="text-right">
+                    <div className={`text-3xl font-bold ${scoreCategory.color}`}>{interview.score}%</div>
+                    <div className={`text-sm font-semibold ${scoreCategory.color}`}>{scoreCategory.text}</div>
+                    {interview.percentile != null && (
+                      <div className="text-xs text-gray-600 mt-1">
+                        Better than {interview.percentile}% of candidates
+                      </div>
+                    )}
+                  </div>
+                </div>
+              </div>
+            );
+          })}
+        </div>
+      )}
+    </div>
+  );
+});
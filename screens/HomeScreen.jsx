@@ -0,0 +1,130 @@
+import React, { memo } from 'react';
+import { Play } from 'lucide-react';
+import { useInterviewStore } from '../lib/interviewStore';
+import {
+  startInterview, resumeInterview, clearInterviewProgress, setJobRole, setJobLevel, setDifficulty,
+  setInterviewMode
+} from '../lib/interviewActions';
+
+export default memo(function HomeScreen() {
+  const hasSavedProgress = useInterviewStore(s => s.hasSavedProgress);
+  const jobRole = useInterviewStore(s => s.jobRole);
+  const jobLevel = useInterviewStore(s => s.jobLevel);
+  const difficulty = useInterviewStore(s => s.difficulty);
+  const interviewMode = useInterviewStore(s => s.interviewMode);
+
+  return (
+    <div className="bg-white rounded-lg shadow-lg p-8">
+      {hasSavedProgress && (
+        <div className="bg-green-50 border-2 border-green-200 rounded-lg p-6 mb-6">
+          <div className="flex items-start justify-between">
+            <div>
+              <h3 className="text-lg font-bold text-green-900 mb-2">Resume Your Interview</h3>
+              <p className="text-green-800 text-sm mb-4">
+                You have an interview in progress. Would you like to continue where you left off?
+              </p>
+            </div>
+          </div>
+          <div className="flex gap-3">
+            <button
+              onClick={resumeInterview}
+              className="flex-1 bg-green-600 text-white py-3 rounded-lg font-semibold hover:bg-green-700 transition"
+            >
+              Resume Interview
+            </button>
+            <button
+              onClick={async () => {
+                await clearInterviewProgress();
+              }}
+              className="flex-1 bg-red-100 text-red-700 py-3 rounded-lg font-semibold hover:bg-red-200 transition"
+            >
+              Start Fresh
+            </button>
+          </div>
+        </div>
+      )}
+
+      <h2 className="text-2xl font-bold text-gray-800 mb-6">Start Your Practice Interview</h2>
+      
+      <div className="space-y-6">
+        <div>
+          <label className="block text-sm font-medium text-gray-700 mb-2">
+            What job role are you applying for?
+          </label>
+          <input
+            type="text"
+            value={jobRole}
+            onChange={(e) => setJobRole(e.target.value)}
+            placeholder="e.g., Software Engineer, Marketing Manager, Sales Associate"
+            className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+          />
+        </div>
+
+        <div className="grid grid-cols-2 gap-4">
+          <div>
+            <label className="block text-sm font-medium text-gray-700 mb-2">
+              Experience Level
+            </label>
+            <select
+              value={jobLevel}
+              onChange={(e) => setJobLevel(e.target.value)}
+              className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+            >
+              <option value="entry">Entry Level (0-2 years)</option>
+              <option value="mid">Mid Level (3-7 years)</option>
+              <option value="senior">Senior Level (8+ years)</option>
+            </select>
+          </div>
+
+          <div>
+            <label className="block text-sm font-medium text-gray-700 mb-2">
+              Difficulty Level
+            </label>
+            <select
+              value={difficulty}
+              onChange={(e) => setDifficulty(e.target.value)}
+              className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+            >
+              <option value="easy">Easy - Basic Questions</option>
+              <option value="medium">Medium - Standard Interview</option>
+              <option value="hard">Hard - Challenging Scenarios</option>
+            </select>
+          </div>
+        </div>
+
+        <div>
+          <label className="block text-sm font-medium text-gray-700 mb-2">
+            Answer Mode
+          </label>
+          <select
+            value={interviewMode}
+            onChange={(e) => setInterviewMode(e.target.value)}
+            className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+          >
+            <option value="text">Text - Type your answers</option>
+            <option value="voice">Voice - Questions read aloud, speak your answers</option>
+          </select>
+        </div>
+
+        <div className="bg-blue-50 border border-blue-200 rounded-lg p-4">
+          <h3 className="font-semibold text-blue-900 mb-2">Interview Tips:</h3>
+          <ul className="space-y-1 text-sm text-blue-800">
+            <li>• You'll answer 10 in-depth questions (expect 2-3 minutes per answer)</li>
+            <li>• Use specific examples from your experience with the STAR method</li>
+            <li>• Be detailed about tools, processes, and methodologies you've used</li>
+            <li>• Questions will be tailored to the actual requirements of the role</li>
+            <li>• Demonstrate your hands-on experience with role-specific challenges</li>
+          </ul>
+        </div>
+
+        <button
+          onClick={startInterview}
+          className="w-full bg-indigo-600 text-white py-4 rounded-lg font-semibold hover:bg-indigo-700 transition flex items-center justify-center gap-2"
+        >
+          <Play className="w-5 h-5" />
+          Start Interview
+        </button>
+      </div>
+    </div>
+  );
+});
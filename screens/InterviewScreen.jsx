@@ -0,0 +1,128 @@
+import React, { memo, Profiler } from 'react';
+import { Mic, Clock, Volume2, Square } from 'lucide-react';
+import { useInterviewStore } from '../lib/interviewStore';
+import { recordRender } from '../lib/renderStats';
+import SessionTimer from '../components/SessionTimer';
+import DeliveryStats from '../components/DeliveryStats';
+import {
+  submitAnswer, setUserAnswer, speakQuestion, stopSpeaking, startRecording, stopRecording
+} from '../lib/interviewActions';
+
+// The only component that re-renders while the candidate types or dictates
+const AnswerInput = memo(function AnswerInput() {
+  const userAnswer = useInterviewStore(s => s.userAnswer);
+
+  return (
+    <textarea
+      value={userAnswer}
+      onChange={(e) => setUserAnswer(e.target.value)}
+      placeholder="Type your answer here... (Aim for 1-2 minutes worth of speaking, or about 150-300 words)"
+      rows={8}
+      className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+    />
+  );
+});
+
+// Live delivery figures; updates about once a second while dictating
+const LiveDelivery = memo(function LiveDelivery() {
+  const liveDelivery = useInterviewStore(s => s.liveDelivery);
+  return (
+    <div className="mb-6">
+      <DeliveryStats delivery={liveDelivery} live />
+    </div>
+  );
+});
+
+// Read-aloud and dictation controls, shown in voice mode
+const VoiceControls = memo(function VoiceControls() {
+  const currentQuestion = useInterviewStore(s => s.currentQuestion);
+  const isSpeaking = useInterviewStore(s => s.isSpeaking);
+  const isRecording = useInterviewStore(s => s.isRecording);
+
+  return (
+    <div className="flex gap-3 mb-6">
+      <button
+        onClick={() => (isSpeaking ? stopSpeaking() : speakQuestion(currentQuestion))}
+        className="flex-1 flex items-center justify-center gap-2 bg-indigo-100 text-indigo-700 py-3 rounded-lg font-semibold hover:bg-indigo-200 transition"
+      >
+        {isSpeaking ? <Square className="w-5 h-5" /> : <Volume2 className="w-5 h-5" />}
+        {isSpeaking ? 'Stop Reading' : 'Read Question Aloud'}
+      </button>
+      <button
+        onClick={isRecording ? stopRecording : startRecording}
+        className={`flex-1 flex items-center justify-center gap-2 py-3 rounded-lg font-semibold transition ${
+          isRecording
+            ? 'bg-red-600 text-white hover:bg-red-700'
+            : 'bg-indigo-600 text-white hover:bg-indigo-700'
+        }`}
+      >
+        {isRecording ? <Square className="w-5 h-5" /> : <Mic className="w-5 h-5" />}
+        {isRecording ? 'Stop Recording' : 'Record Answer'}
+      </button>
+    </div>
+  );
+});
+
+export default memo(function InterviewScreen() {
+  const currentQuestion = useInterviewStore(s => s.currentQuestion);
+  const interviewQuestions = useInterviewStore(s => s.interviewQuestions);
+  const difficulty = useInterviewStore(s => s.difficulty);
+  const jobRole = useInterviewStore(s => s.jobRole);
+  const interviewMode = useInterviewStore(s => s.interviewMode);
+
+  return (
+    <div className="bg-white rounded-lg shadow-lg p-8">
+      <div className="mb-6">
+        <div className="flex justify-between items-center mb-4">
+          <div className="flex items-center gap-4">
+            <span className="text-sm font-medium text-gray-600">
+              Question {currentQuestion + 1} of {interviewQuestions.length}
+            </span>
+            <div className="flex items-center gap-2 bg-indigo-100 px-3 py-1 rounded-full">
+              <Clock className="w-4 h-4 text-indigo-600" />
+              <SessionTimer className="text-sm font-semibold text-indigo-700" />
+            </div>
+          </div>
+          <span className="text-sm text-gray-600 capitalize">
+            {difficulty} • {jobRole}
+          </span>
+        </div>
+        <div className="w-full bg-gray-200 rounded-full h-2">
+          <div
+            className="bg-indigo-600 h-2 rounded-full transition-all"
+            style={{ width: `${((currentQuestion + 1) / interviewQuestions.length) * 100}%` }}
+          />
+        </div>
+      </div>
+
+      <div className="bg-indigo-50 border-l-4 border-indigo-600 p-6 mb-6 rounded">
+        <div className="flex items-start gap-3">
+          <Mic className="w-6 h-6 text-indigo-600 flex-shrink-0 mt-1" />
+          <div>
+            <h3 className="font-semibold text-indigo-900 mb-2">Interviewer Question:</h3>
+            <p className="text-lg text-gray-800">{interviewQuestions[currentQuestion]}</p>
+          </div>
+        </div>
+      </div>
+
+      {interviewMode === 'voice' && <VoiceControls />}
+      {interviewMode === 'voice' && <LiveDelivery />}
+
+      <div className="space-y-4">
+        <label className="block text-sm font-medium text-gray-700">
+          Your Answer:
+        </label>
+        <Profiler id="answer-input" onRender={recordRender}>
+          <AnswerInput />
+        </Profiler>
+
+        <button
+          onClick={submitAnswer}
+          className="w-full bg-indigo-600 text-white py-3 rounded-lg font-semibold hover:bg-indigo-700 transition"
+        >
+          Submit Answer & Continue
+        </button>
+      </div>
+    </div>
+  );
+});
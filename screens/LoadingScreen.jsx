@@ -0,0 +1,16 @@
+import React, { memo } from 'react';
+import { useInterviewStore } from '../lib/interviewStore';
+
+export default memo(function LoadingScreen() {
+  const jobRole = useInterviewStore(s => s.jobRole);
+
+  return (
+    <div className="bg-white rounded-lg shadow-lg p-8">
+      <div className="text-center py-12">
+        <div className="animate-spin rounded-full h-16 w-16 border-b-4 border-indigo-600 mx-auto mb-6"></div>
+        <h2 className="text-2xl font-bold text-gray-800 mb-2">Preparing Your Interview</h2>
+        <p className="text-gray-600">Generating personalized questions for {jobRole}...</p>
+      </div>
+    </div>
+  );
+});
@@ -0,0 +1,75 @@
+import React, { memo } from 'react';
+import { useInterviewStore } from '../lib/interviewStore';
+import {
+  handleLogin, setCurrentScreen, setAuthError, setLoginEmail, setLoginPassword
+} from '../lib/interviewActions';
+
+export default memo(function LoginScreen() {
+  const authError = useInterviewStore(s => s.authError);
+  const loginEmail = useInterviewStore(s => s.loginEmail);
+  const loginPassword = useInterviewStore(s => s.loginPassword);
+
+  return (
+    <div className="bg-white rounded-lg shadow-lg p-8 max-w-md mx-auto">
+      <h2 className="text-2xl font-bold text-gray-800 mb-6 text-center">Login to Your Account</h2>
+      
+      {authError && (
+        <div className="bg-red-50 border border-red-200 text-red-700 px-4 py-3 rounded-lg mb-4">
+          {authError}
+        </div>
+      )}
+
+      <div className="space-y-4">
+        <div>
+          <label className="block text-sm font-medium text-gray-700 mb-2">
+            Email Address
+          </label>
+          <input
+            type="email"
+            value={loginEmail}
+            onChange={(e) => setLoginEmail(e.target.value)}
+            placeholder="your.email@example.com"
+            className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+            onKeyPress={(e) => e.key === 'Enter' && handleLogin()}
+          />
+        </div>
+
+        <div>
+          <label className="block text-sm font-medium text-gray-700 mb-2">
+            Password
+          </label>
+          <input
+            type="password"
+            value={loginPassword}
+            onChange={(e) => setLoginPassword(e.target.value)}
+            placeholder="Enter your password"
+            className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+            onKeyPress={(e) => e.key === 'Enter' && handleLogin()}
+          />
+        </div>
+
+        <button
+          onClick={handleLogin}
+          className="w-full bg-indigo-600 text-white py-3 rounded-lg font-semibold hover:bg-indigo-700 transition"
+        >
+          Login
+        </button>
+
+        <div className="text-center pt-4 border-t border-gray-200">
+          <p className="text-sm text-gray-600">
+            Don't have an account?{' '}
+            <button
+              onClick={() => {
+                setCurrentScreen('signup');
+                setAuthError('');
+              }}
+              className="text-indigo-600 hover:text-indigo-700 font-semibold"
+            >
+              Sign up
+            </button>
+          </p>
+        </div>
+      </div>
+    </div>
+  );
+});
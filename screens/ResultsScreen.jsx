@@ -0,0 +1,195 @@
+import React, { memo } from 'react';
+import { RotateCcw, CheckCircle, History, TrendingUp, Award } from 'lucide-react';
+import { useInterviewStore } from '../lib/interviewStore';
+import SessionTimer from '../components/SessionTimer';
+import AnswerAudioPlayer from '../components/AnswerAudioPlayer';
+import DeliveryStats from '../components/DeliveryStats';
+import FeedbackText from '../components/FeedbackText';
+import { restart, viewHistory, getScoreCategory, describeStanding } from '../lib/interviewActions';
+
+const FEEDBACK_ITEM_STYLES = {
+  success: 'bg-green-50 text-green-900 border-green-500',
+  warning: 'bg-yellow-50 text-yellow-900 border-yellow-500'
+};
+
+// One question's answer and feedback. Memoized so the grade review arriving,
+// or feedback for another question being replaced, doesn't re-render it.
+const QuestionResult = memo(function QuestionResult({ index, question, answer, feedback, delivery, recordings }) {
+  return (
+    <div className="border border-gray-200 rounded-lg p-6 bg-white shadow-sm">
+      <h3 className="font-semibold text-gray-800 mb-3 text-lg">
+        Q{index + 1}: {question}
+      </h3>
+
+      <div className="bg-gray-50 p-4 rounded mb-4 border border-gray-200">
+        <p className="text-sm font-semibold text-gray-700 mb-2">Your Answer:</p>
+        <p className="text-gray-700 leading-relaxed">{answer}</p>
+        <p className="text-xs text-gray-500 mt-3">
+          Word count: {answer.trim().split(/\s+/).length} words
+        </p>
+        {delivery && (
+          <div className="mt-3">
+            <DeliveryStats delivery={delivery} />
+          </div>
+        )}
+        {recordings?.length > 0 && (
+          <div className="mt-3 space-y-2">
+            {recordings.map((recordingId, take) => (
+              <AnswerAudioPlayer
+                key={recordingId}
+                recordingId={recordingId}
+                label={recordings.length > 1 ? `Take ${take + 1}` : 'Recording'}
+              />
+            ))}
+          </div>
+        )}
+      </div>
+
+      <div className="space-y-3">
+        <p className="text-sm font-bold text-indigo-700 mb-2">Expert Feedback:</p>
+        {feedback?.map((item, i) => (item.type === 'detailed' ? (
+          <FeedbackText key={i} text={item.text} />
+        ) : (
+          <div
+            key={i}
+            className={`text-sm p-4 rounded-lg border-l-4 ${
+              FEEDBACK_ITEM_STYLES[item.type] || 'bg-indigo-50 text-indigo-900 border-indigo-500'
+            }`}
+          >
+            <div className="whitespace-pre-line leading-relaxed">{item.text}</div>
+          </div>
+        )))}
+      </div>
+    </div>
+  );
+});
+
+export default memo(function ResultsScreen() {
+  const overallScore = useInterviewStore(s => s.overallScore);
+  const scoreStanding = useInterviewStore(s => s.scoreStanding);
+  const jobRole = useInterviewStore(s => s.jobRole);
+  const jobLevel = useInterviewStore(s => s.jobLevel);
+  const difficulty = useInterviewStore(s => s.difficulty);
+  const gradeFeedback = useInterviewStore(s => s.gradeFeedback);
+  const isLoadingFeedback = useInterviewStore(s => s.isLoadingFeedback);
+  const interviewQuestions = useInterviewStore(s => s.interviewQuestions);
+  const answers = useInterviewStore(s => s.answers);
+  const feedback = useInterviewStore(s => s.feedback);
+  const answerRecordings = useInterviewStore(s => s.answerRecordings);
+  const answerDelivery = useInterviewStore(s => s.answerDelivery);
+
+  return (
+    <div className="bg-white rounded-lg shadow-lg p-8">
+      <div className="text-center mb-8">
+        <CheckCircle className="w-16 h-16 text-green-500 mx-auto mb-4" />
+        <h2 className="text-3xl font-bold text-gray-800 mb-2">Interview Complete!</h2>
+        <p className="text-gray-600">Total Time: <SessionTimer /></p>
+      </div>
+
+      {/* Score Card */}
+      <div className="bg-gradient-to-br from-indigo-50 to-purple-50 border-2 border-indigo-200 rounded-xl p-6 mb-8">
+        <div className="text-center mb-4">
+          <h3 className="text-xl font-semibold text-gray-800 mb-2">Interview Performance</h3>
+          <div className="flex items-center justify-center gap-6">
+            <div>
+              <div className="text-5xl font-bold text-indigo-600 mb-1">{overallScore}%</div>
+              <div className={`text-sm font-semibold ${getScoreCategory(overallScore).color}`}>
+                {getScoreCategory(overallScore).text}
+              </div>
+            </div>
+            <div className={`text-7xl font-bold ${getScoreCategory(overallScore).color}`}>
+              {getScoreCategory(overallScore).grade}
+            </div>
+          </div>
+        </div>
+
+        <div className="grid grid-cols-2 gap-4 mt-6">
+          <div className="bg-white rounded-lg p-4 text-center">
+            <TrendingUp className="w-8 h-8 text-indigo-600 mx-auto mb-2" />
+            {scoreStanding ? (
+              <>
+                <div className="text-2xl font-bold text-gray-800">Better than {scoreStanding.percentile}%</div>
+                <div className="text-sm text-gray-600">of candidates</div>
+                <div className="text-xs text-gray-500 mt-1">
+                  Compared with {describeStanding(scoreStanding, jobRole, jobLevel, difficulty)}
+                </div>
+              </>
+            ) : (
+              <>
+                <div className="text-2xl font-bold text-gray-800">-</div>
+                <div className="text-sm text-gray-600">Percentile</div>
+                <div className="text-xs text-gray-500 mt-1">Not enough interviews like this one yet</div>
+              </>
+            )}
+          </div>
+          <div className="bg-white rounded-lg p-4 text-center">
+            <Award className="w-8 h-8 text-purple-600 mx-auto mb-2" />
+            <div className="text-2xl font-bold text-gray-800 capitalize">{difficulty}</div>
+            <div className="text-sm text-gray-600">Difficulty Level</div>
+          </div>
+        </div>
+
+        <div className="mt-4 text-center text-sm text-gray-600">
+          {overallScore >= 90 && "Outstanding performance! You're well-prepared for this interview."}
+          {overallScore >= 70 && overallScore < 90 && "Great job! You're almost there - just a few tweaks needed."}
+          {overallScore >= 50 && overallScore < 70 && "Keep practicing! You're on the right track but need more preparation."}
+          {overallScore < 50 && "Don't give up! Use this feedback to improve and try again."}
+        </div>
+      </div>
+
+      {/* AI-Generated Grade Feedback */}
+      <div className="bg-white border-2 border-indigo-200 rounded-xl p-6 mb-8">
+        <h3 className="text-xl font-bold text-gray-800 mb-4 flex items-center gap-2">
+          <Award className="w-6 h-6 text-indigo-600" />
+          Grade {getScoreCategory(overallScore).grade} - Personalized Feedback
+        </h3>
+        
+        {isLoadingFeedback ? (
+          <div className="text-center py-8">
+            <div className="animate-spin rounded-full h-12 w-12 border-b-2 border-indigo-600 mx-auto mb-4"></div>
+            <p className="text-gray-600">Analyzing your interview performance...</p>
+          </div>
+        ) : gradeFeedback ? (
+          <div className="prose max-w-none text-gray-700">
+            <FeedbackText text={gradeFeedback} />
+          </div>
+        ) : (
+          <p className="text-gray-600">Feedback will appear here after analysis.</p>
+        )}
+      </div>
+
+      {/* Detailed Feedback */}
+      <div className="space-y-6">
+        <h3 className="text-xl font-bold text-gray-800">Question-by-Question Feedback</h3>
+        {interviewQuestions.map((question, index) => (
+          <QuestionResult
+            key={index}
+            index={index}
+            question={question}
+            answer={answers[index]}
+            feedback={feedback[index]}
+            delivery={answerDelivery[index]}
+            recordings={answerRecordings[index]}
+          />
+        ))}
+      </div>
+
+      <div className="mt-8 flex gap-4">
+        <button
+          onClick={restart}
+          className="flex-1 bg-indigo-600 text-white py-3 rounded-lg font-semibold hover:bg-indigo-700 transition flex items-center justify-center gap-2"
+        >
+          <RotateCcw className="w-5 h-5" />
+          Start New Interview
+        </button>
+        <button
+          onClick={viewHistory}
+          className="flex-1 bg-gray-600 text-white py-3 rounded-lg font-semibold hover:bg-gray-700 transition flex items-center justify-center gap-2"
+        >
+          <History className="w-5 h-5" />
+          View History
+        </button>
+      </div>
+    </div>
+  );
+});
@@ -0,0 +1,103 @@
+import React, { memo } from 'react';
+import { useInterviewStore } from '../lib/interviewStore';
+import {
+  handleSignup, setCurrentScreen, setAuthError, setSignupName, setSignupEmail, setSignupPassword,
+  setSignupConfirmPassword
+} from '../lib/interviewActions';
+
+export default memo(function SignupScreen() {
+  const authError = useInterviewStore(s => s.authError);
+  const signupName = useInterviewStore(s => s.signupName);
+  const signupEmail = useInterviewStore(s => s.signupEmail);
+  const signupPassword = useInterviewStore(s => s.signupPassword);
+  const signupConfirmPassword = useInterviewStore(s => s.signupConfirmPassword);
+
+  return (
+    <div className="bg-white rounded-lg shadow-lg p-8 max-w-md mx-auto">
+      <h2 className="text-2xl font-bold text-gray-800 mb-6 text-center">Create Your Account</h2>
+      
+      {authError && (
+        <div className="bg-red-50 border border-red-200 text-red-700 px-4 py-3 rounded-lg mb-4">
+          {authError}
+        </div>
+      )}
+
+      <div className="space-y-4">
+        <div>
+          <label className="block text-sm font-medium text-gray-700 mb-2">
+            Full Name
+          </label>
+          <input
+            type="text"
+            value={signupName}
+            onChange={(e) => setSignupName(e.target.value)}
+            placeholder="John Doe"
+            className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+          />
+        </div>
+
+        <div>
+          <label className="block text-sm font-medium text-gray-700 mb-2">
+            Email Address
+          </label>
+          <input
+            type="email"
+            value={signupEmail}
+            onChange={(e) => setSignupEmail(e.target.value)}
+            placeholder="your.email@example.com"
+            className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+          />
+        </div>
+
+        <div>
+          <label className="block text-sm font-medium text-gray-700 mb-2">
+            Password
+          </label>
+          <input
+            type="password"
+            value={signupPassword}
+            onChange={(e) => setSignupPassword(e.target.value)}
+            placeholder="At least 6 characters"
+            className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+          />
+        </div>
+
+        <div>
+          <label className="block text-sm font-medium text-gray-700 mb-2">
+            Confirm Password
+          </label>
+          <input
+            type="password"
+            value={signupConfirmPassword}
+            onChange={(e) => setSignupConfirmPassword(e.target.value)}
+            placeholder="Re-enter your password"
+            className="w-full px-4 py-3 border border-gray-300 rounded-lg focus:ring-2 focus:ring-indigo-500 focus:border-transparent"
+            onKeyPress={(e) => e.key === 'Enter' && handleSignup()}
+          />
+        </div>
+
+        <button
+          onClick={handleSignup}
+          className="w-full bg-indigo-600 text-white py-3 rounded-lg font-semibold hover:bg-indigo-700 transition"
+        >
+          Sign Up
+        </button>
+
+        <div className="text-center pt-4 border-t border-gray-200">
+          <p className="text-sm text-gray-600">
+            Already have an account?{' '}
+            <button
+              onClick={() => {
+                setCurrentScreen('login');
+                setAuthError('');
+              }}
+              className="text-indigo-600 hover:text-indigo-700 font-semibold"
+            >
+              Login
+            </button>
+          </p>
+        </div>
+      </div>
+    </div>
+  );
+});
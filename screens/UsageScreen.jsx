@@ -0,0 +1,160 @@
+import React, { memo, useEffect, useState } from 'react';
+import { BarChart3 } from 'lucide-react';
+import { useInterviewStore } from '../lib/interviewStore';
+import { setCurrentScreen } from '../lib/interviewActions';
+import { loadUsageReport } from '../lib/usageLedger';
+
+const CALL_TYPE_LABELS = { questions: 'Question generation', feedback: 'Answer feedback', research: 'Role research', grade: 'Final review' };
+
+const formatTokens = n => (n >= 10000 ? `${(n / 1000).toFixed(1)}k` : String(n));
+const formatCost = usd => `$${usd.toFixed(usd < 1 ? 3 : 2)}`;
+
+const budgetLimits = (budget) => [
+  ['Daily tokens', budget.dailyTokens, t => t.today.inputTokens + t.today.outputTokens, formatTokens],
+  ['Monthly tokens', budget.monthlyTokens, t => t.thisMonth.inputTokens + t.thisMonth.outputTokens, formatTokens],
+  ['Daily cost', budget.dailyCostUsd, t => t.today.costUsd, formatCost],
+  ['Monthly cost', budget.monthlyCostUsd, t => t.thisMonth.costUsd, formatCost]
+].filter(([, limit]) => limit > 0);
+
+const TotalsCard = ({ title, totals }) => (
+  <div className="border-2 border-indigo-100 bg-indigo-50 rounded-lg p-4">
+    <h3 className="text-sm font-semibold text-gray-600 mb-2">{title}</h3>
+    <div className="text-2xl font-bold text-indigo-700">{formatCost(totals.costUsd)}</div>
+    <div className="text-xs text-gray-600 mt-1">
+      {totals.calls} calls • {formatTokens(totals.inputTokens)} in / {formatTokens(totals.outputTokens)} out
+      {totals.searches > 0 && ` • ${totals.searches} searches`}
+    </div>
+  </div>
+);
+
+// Token and cost usage of the signed-in user, from the usage ledger
+export default memo(function UsageScreen() {
+  const currentUser = useInterviewStore(s => s.currentUser);
+  const [report, setReport] = useState(null);
+  const [error, setError] = useState(null);
+
+  useEffect(() => {
+    if (!currentUser) return;
+    let cancelled = false;
+    loadUsageReport(currentUser.email)
+      .then(result => !cancelled && setReport(result))
+      .catch((loadError) => {
+        console.error('Failed to load usage:', loadError);
+        if (!cancelled) setError('Usage data is not available in this browser.');
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [currentUser]);
+
+  const recentDays = report ? report.days.slice(0, 14) : [];
+  const maxDayCost = Math.max(...recentDays.map(day => day.costUsd), 0);
+
+  return (
+    <div className="bg-white rounded-lg shadow-lg p-8">
+      <div className="flex items-center justify-between mb-6">
+        <h2 className="text-2xl font-bold text-gray-800">Usage</h2>
+        <button
+          onClick={() => setCurrentScreen('home')}
+          className="px-4 py-2 bg-indigo-600 text-white rounded-lg hover:bg-indigo-700 transition"
+        >
+          Back
+        </button>
+      </div>
+
+      {error && <p className="text-gray-600">{error}</p>}
+
+      {!error && !report && (
+        <div className="text-center py-12">
+          <div className="animate-spin rounded-full h-12 w-12 border-b-2 border-indigo-600 mx-auto"></div>
+        </div>
+      )}
+
+      {report && report.months.length === 0 && (
+        <div className="text-center py-12">
+          <BarChart3 className="w-16 h-16 text-gray-300 mx-auto mb-4" />
+          <p className="text-gray-600">No usage recorded yet.</p>
+        </div>
+      )}
+
+      {report && report.months.length > 0 && (
+        <div className="space-y-6">
+          <div className="grid grid-cols-2 gap-4">
+            <TotalsCard title="Today" totals={report.today} />
+            <TotalsCard title="This month" totals={report.thisMonth} />
+          </div>
+
+          {budgetLimits(report.budget).length > 0 && (
+            <div>
+              <h3 className="text-lg font-semibold text-gray-800 mb-2">Budget</h3>
+              <div className="space-y-2">
+                {budgetLimits(report.budget).map(([label, limit, used, format]) => {
+                  const share = Math.min(1, used(report) / limit);
+                  const color = share >= 1 ? 'bg-red-500' : share >= report.budget.economyAt ? 'bg-yellow-500' : 'bg-green-500';
+                  return (
+                    <div key={label} className="text-sm">
+                      <div className="flex justify-between text-gray-600 mb-1">
+                        <span>{label}</span>
+                        <span>{format(used(report))} of {format(limit)}</span>
+                      </div>
+                      <div className="h-2 bg-gray-100 rounded">
+                        <div className={`h-2 rounded ${color}`} style={{ width: `${share * 100}%` }}></div>
+                      </div>
+                    </div>
+                  );
+                })}
+              </div>
+              {report.budgetUsed >= report.budget.economyAt && (
+                <p className="text-xs text-gray-600 mt-2">
+                  {report.budgetUsed >= 1
+                    ? 'Budget reached: questions come from the question bank and all feedback is generated on your device.'
+                    : 'Budget nearly reached: questions come from the question bank and per-answer feedback is generated on your device.'}
+                </p>
+              )}
+            </div>
+          )}
+
+          <div>
+            <h3 className="text-lg font-semibold text-gray-800 mb-2">This month by feature</h3>
+            <table className="w-full text-sm">
+              <thead>
+                <tr className="text-left text-gray-500">
+                  <th className="py-1">Feature</th><th>Calls</th><th>Input</th><th>Output</th><th>Cost</th>
+                </tr>
+              </thead>
+              <tbody>
+                {Object.entries(report.thisMonth.byType).map(([callType, totals]) => (
+                  <tr key={callType} className="border-t border-gray-100">
+                    <td className="py-1">{CALL_TYPE_LABELS[callType] || callType}</td>
+                    <td>{totals.calls}</td>
+                    <td>{formatTokens(totals.inputTokens)}</td>
+                    <td>{formatTokens(totals.outputTokens)}</td>
+                    <td>{formatCost(totals.costUsd)}</td>
+                  </tr>
+                ))}
+              </tbody>
+            </table>
+          </div>
+
+          <div>
+            <h3 className="text-lg font-semibold text-gray-800 mb-2">Recent days</h3>
+            <div className="space-y-1">
+              {recentDays.map(day => (
+                <div key={day.period} className="flex items-center gap-3 text-xs text-gray-600">
+                  <span className="w-20">{day.period}</span>
+                  <div className="flex-1 h-3 bg-gray-100 rounded">
+                    <div
+                      className="h-3 bg-indigo-400 rounded"
+                      style={{ width: `${maxDayCost > 0 ? (day.costUsd / maxDayCost) * 100 : 0}%` }}
+                    ></div>
+                  </div>
+                  <span className="w-28 text-right">{formatCost(day.costUsd)} • {day.calls} calls</span>
+                </div>
+              ))}
+            </div>
+          </div>
+        </div>
+      )}
+    </div>
+  );
+});
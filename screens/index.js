@@ -0,0 +1,34 @@
+import { lazy } from 'react';
+
+// Every screen is its own chunk. preload() starts fetching a chunk before the
+// app navigates to it, so the Suspense spinner rarely shows.
+const lazyScreen = (load) => {
+  let promise = null;
+  const preload = () => {
+    if (!promise) {
+      promise = load().catch((error) => {
+        promise = null;
+        throw error;
+      });
+    }
+    return promise;
+  };
+  const Screen = lazy(preload);
+  Screen.preload = preload;
+  return Screen;
+};
+
+export const screens = {
+  login: lazyScreen(() => import('./LoginScreen')),
+  signup: lazyScreen(() => import('./SignupScreen')),
+  loading: lazyScreen(() => import('./LoadingScreen')),
+  home: lazyScreen(() => import('./HomeScreen')),
+  interview: lazyScreen(() => import('./InterviewScreen')),
+  results: lazyScreen(() => import('./ResultsScreen')),
+  history: lazyScreen(() => import('./HistoryScreen')),
+  usage: lazyScreen(() => import('./UsageScreen'))
+};
+
+export const preloadScreen = (name) => {
+  screens[name]?.preload().catch(error => console.log('Screen preload failed:', error));
+};
@@ -0,0 +1,489 @@
+#!/usr/bin/env node
+// LLM gateway. The app posts Messages API requests here instead of calling
+// the API from every browser, and the gateway:
+//   - keeps a pool of keep-alive connections to the upstream, so TLS setup is
+//     paid once per socket rather than once per client
+//   - coalesces identical requests that are in flight at the same time
+//   - caches question-set and role research responses, which are shared by
+//     every user asking for the same role, level and difficulty
+//   - enforces a global upstream rate limit with a bounded wait queue
+//   - rebuilds each request from the call type's allowlist: the model, the
+//     max_tokens cap and any web search tool are the gateway's own
+//   - limits each client address to CLIENT_RATE_PER_MINUTE requests
+//
+// The origin check and GATEWAY_TOKEN only keep other web pages from using
+// the gateway: the token is shipped to every browser, and a non-browser
+// client can send any Origin. Anyone can still spend the API key on the
+// app's own requests; the allowlist bounds what each request costs and the
+// per-client limit how many one address can make. Bulk jobs (bench/loadTest.mjs,
+// tools/generateQuestionBank.mjs) need a gateway with CLIENT_RATE_PER_MINUTE=0.
+//
+//   ANTHROPIC_API_KEY=... APP_ORIGIN=https://app.example GATEWAY_TOKEN=... node server/llmGateway.mjs
+//   UPSTREAM_URL=http://localhost:8788/v1/messages ... node server/llmGateway.mjs   (mock upstream)
+//
+// Point the app at it with window.AIIC_CONFIG = { llmGatewayUrl: 'http://localhost:8787/v1/messages',
+// llmGatewayToken: '<GATEWAY_TOKEN>' }.
+// Behind a reverse proxy, set TRUST_PROXY=1 so clients are told apart by
+// X-Forwarded-For. GET /stats returns cache, coalescing, rate limit and pool
+// counters.
+// /v1/score-sketches holds the score distributions behind the results
+// percentile: GET ?keys=a,b returns sketches, POST { updates: [{ key, sketch }] }
+// merges clients' sketches into them.
+import { createServer } from 'node:http';
+import http from 'node:http';
+import https from 'node:https';
+import { createHash, timingSafeEqual } from 'node:crypto';
+import { pathToFileURL } from 'node:url';
+import { createQuantileSketch } from '../lib/quantileSketch.js';
+
+const MAX_BODY_BYTES = 1024 * 1024;
+// A sketch of whole-number scores is about 3 KB of JSON (k = 200); role
+// names come from users, so cap the key count
+const MAX_SKETCHES = 5000;
+// The app sends one update per scope (role, level, difficulty)
+const MAX_SKETCH_KEYS = 3;
+const MAX_KEY_LENGTH = 200;
+// 2^32 observations at the top level is far more than will ever be recorded
+const MAX_SKETCH_LEVELS = 32;
+const SKETCH_K = createQuantileSketch().toJSON().k;
+// Call types whose responses are the same for every user and safe to share
+const CACHEABLE_CALL_TYPES = new Set(['questions', 'research']);
+const MODEL = 'claude-sonnet-4-20250514';
+// What each call type may ask for; matches lib/llmRequests.js. Research and
+// grade requests may ask for web search, and get the gateway's tool definition.
+const CALL_TYPES = {
+  questions: { maxTokens: 1000, search: false },
+  feedback: { maxTokens: 800, search: false },
+  research: { maxTokens: 600, search: true },
+  grade: { maxTokens: 1000, search: true }
+};
+const WEB_SEARCH_TOOL = { type: 'web_search_20250305', name: 'web_search' };
+const MAX_MESSAGES = 4;
+
+const badRequest = message => Object.assign(new Error(message), { status: 400 });
+
+const isTextContent = content => typeof content === 'string' || (Array.isArray(content) && content.length > 0
+  && content.every(block => block && block.type === 'text' && typeof block.text === 'string'));
+
+// The upstream body, built only from fields the call type allows
+const allowedBody = (callType, body) => {
+  const allowed = Object.hasOwn(CALL_TYPES, callType) ? CALL_TYPES[callType] : null;
+  if (!allowed) throw badRequest('Unknown call type');
+  const { messages, max_tokens: maxTokens, tools } = body || {};
+  if (!Array.isArray(messages) || messages.length === 0 || messages.length > MAX_MESSAGES
+    || !messages.every(m => m && (m.role === 'user' || m.role === 'assistant') && isTextContent(m.content))) {
+    throw badRequest('Invalid messages');
+  }
+  const search = allowed.search && Array.isArray(tools) && tools.some(tool => tool && tool.name === 'web_search');
+  return {
+    model: MODEL,
+    max_tokens: Number.isInteger(maxTokens) && maxTokens > 0 ? Math.min(maxTokens, allowed.maxTokens) : allowed.maxTokens,
+    messages: messages.map(({ role, content }) => ({
+      role,
+      content: typeof content === 'string' ? content : content.map(({ text }) => ({ type: 'text', text }))
+    })),
+    ...(search ? { tools: [WEB_SEARCH_TOOL] } : {})
+  };
+};
+
+const isScore = value => typeof value === 'number' && value >= 0 && value <= 100;
+
+// A posted sketch is merged into everyone's distribution, so it must be one
+// the app could have made: scores in 0..100, the gateway's k, no more items
+// than compaction allows, and n equal to the items' total weight
+const isValidSketch = (sketch) => {
+  if (!sketch || sketch.k !== SKETCH_K || !Array.isArray(sketch.levels)) return false;
+  const { levels, n, min, max } = sketch;
+  if (levels.length === 0 || levels.length > MAX_SKETCH_LEVELS || !levels.every(Array.isArray)) return false;
+  const items = levels.reduce((sum, level) => sum + level.length, 0);
+  if (items > 3 * SKETCH_K + 2 * levels.length) return false;
+  if (!Number.isSafeInteger(n) || n < 1 || !isScore(min) || !isScore(max)) return false;
+  let weight = 0;
+  for (let h = 0; h < levels.length; h++) {
+    for (const value of levels[h]) {
+      if (!isScore(value) || value < min || value > max) return false;
+    }
+    weight += levels[h].length * 2 ** h;
+  }
+  return weight === n;
+};
+
+// Token bucket per client address, without a wait queue: a client over its
+// rate is turned away. Least recently seen clients are forgotten past
+// maxClients, which only ever resets them to a full bucket.
+const createClientLimiter = ({ ratePerMinute, burst, maxClients }) => {
+  const clients = new Map();
+  return {
+    allow(client) {
+      const now = Date.now();
+      const entry = clients.get(client) || { tokens: burst, refilledAt: now };
+      clients.delete(client);
+      entry.tokens = Math.min(burst, entry.tokens + ((now - entry.refilledAt) / 60000) * ratePerMinute);
+      entry.refilledAt = now;
+      const allowed = entry.tokens >= 1;
+      if (allowed) entry.tokens -= 1;
+      clients.set(client, entry);
+      if (clients.size > maxClients) clients.delete(clients.keys().next().value);
+      return allowed;
+    }
+  };
+};
+
+const sameToken = (given, expected) => {
+  const a = Buffer.from(String(given || ''));
+  const b = Buffer.from(expected);
+  return a.length === b.length && timingSafeEqual(a, b);
+};
+
+const readBody = (req) => new Promise((resolve, reject) => {
+  const chunks = [];
+  let size = 0;
+  req.on('data', (chunk) => {
+    size += chunk.length;
+    if (size > MAX_BODY_BYTES) {
+      reject(Object.assign(new Error('Request too large'), { status: 413 }));
+      req.destroy();
+      return;
+    }
+    chunks.push(chunk);
+  });
+  req.on('end', () => resolve(Buffer.concat(chunks)));
+  req.on('error', reject);
+});
+
+// Stable key for a request body: object keys sorted, so field order sent by
+// different clients doesn't defeat coalescing or the cache
+const canonicalJson = (value) => {
+  if (Array.isArray(value)) return `[${value.map(canonicalJson).join(',')}]`;
+  if (value && typeof value === 'object') {
+    return `{${Object.keys(value).sort().map(key => `${JSON.stringify(key)}:${canonicalJson(value[key])}`).join(',')}}`;
+  }
+  return JSON.stringify(value);
+};
+
+const requestKey = body => createHash('sha256').update(canonicalJson(body)).digest('hex');
+
+// LRU cache with a per-entry TTL, on Map insertion order
+const createResponseCache = ({ maxEntries, ttlMs }) => {
+  const entries = new Map();
+  return {
+    get(key) {
+      const entry = entries.get(key);
+      if (!entry) return null;
+      entries.delete(key);
+      if (entry.expiresAt <= Date.now()) return null;
+      entries.set(key, entry);
+      return entry.response;
+    },
+    set(key, response) {
+      entries.delete(key);
+      entries.set(key, { response, expiresAt: Date.now() + ttlMs });
+      if (entries.size > maxEntries) entries.delete(entries.keys().next().value);
+    },
+    get size() {
+      return entries.size;
+    }
+  };
+};
+
+// Token bucket over upstream calls. Callers wait in FIFO order for a token;
+// when the wait queue is full or a caller would wait too long they are
+// turned away with a retry hint instead.
+const createRateLimiter = ({ ratePerSecond, burst, maxQueue, maxWaitMs }) => {
+  let tokens = burst;
+  let refilledAt = Date.now();
+  const waiting = [];
+  let timer = null;
+
+  const refill = () => {
+    const now = Date.now();
+    tokens = Math.min(burst, tokens + ((now - refilledAt) / 1000) * ratePerSecond);
+    refilledAt = now;
+  };
+
+  const pump = () => {
+    timer = null;
+    refill();
+    while (waiting.length > 0 && tokens >= 1) {
+      tokens -= 1;
+      const next = waiting.shift();
+      clearTimeout(next.timeout);
+      next.resolve();
+    }
+    if (waiting.length > 0) {
+      timer = setTimeout(pump, Math.ceil(((1 - tokens) / ratePerSecond) * 1000));
+    }
+  };
+
+  return {
+    acquire() {
+      refill();
+      if (waiting.length === 0 && tokens >= 1) {
+        tokens -= 1;
+        return Promise.resolve();
+      }
+      if (waiting.length >= maxQueue) {
+        return Promise.reject(Object.assign(new Error('Gateway rate limit exceeded'), { status: 429, retryAfter: 1 }));
+      }
+      return new Promise((resolve, reject) => {
+        const entry = { resolve };
+        entry.timeout = setTimeout(() => {
+          waiting.splice(waiting.indexOf(entry), 1);
+          reject(Object.assign(new Error('Gateway rate limit exceeded'), { status: 429, retryAfter: 1 }));
+        }, maxWaitMs);
+        waiting.push(entry);
+        if (!timer) pump();
+      });
+    },
+    get queued() {
+      return waiting.length;
+    }
+  };
+};
+
+export const createGateway = ({
+  upstreamUrl = 'https://api.anthropic.com/v1/messages',
+  apiKey = null,
+  maxSockets = 32,
+  ratePerSecond = 20,
+  burst = 40,
+  maxQueue = 200,
+  maxWaitMs = 10000,
+  cacheEntries = 500,
+  cacheTtlMs = 24 * 60 * 60 * 1000,
+  upstreamTimeoutMs = 60000,
+  maxSketches = MAX_SKETCHES,
+  allowedOrigin = null,
+  token = null,
+  clientRatePerMinute = 30,
+  clientBurst = 20,
+  maxClients = 100000,
+  trustProxy = false
+} = {}) => {
+  if (!token) throw new Error('The gateway needs a client token');
+  // Browsers only get responses on the app's own origin
+  const corsHeaders = {
+    ...(allowedOrigin ? { 'Access-Control-Allow-Origin': allowedOrigin } : {}),
+    'Access-Control-Allow-Methods': 'POST, GET, OPTIONS',
+    'Access-Control-Allow-Headers': 'Content-Type, X-AIIC-Call-Type, X-AIIC-Token',
+    'Access-Control-Expose-Headers': 'X-Gateway-Cache',
+    Vary: 'Origin'
+  };
+  const upstream = new URL(upstreamUrl);
+  const transport = upstream.protocol === 'https:' ? https : http;
+  const agent = new transport.Agent({ keepAlive: true, maxSockets, maxFreeSockets: maxSockets });
+  const cache = createResponseCache({ maxEntries: cacheEntries, ttlMs: cacheTtlMs });
+  const limiter = createRateLimiter({ ratePerSecond, burst, maxQueue, maxWaitMs });
+  const inFlight = new Map();
+  const sketches = new Map();
+  // 0 or null turns the per-client limit off
+  const clientLimiter = clientRatePerMinute
+    ? createClientLimiter({ ratePerMinute: clientRatePerMinute, burst: clientBurst, maxClients })
+    : null;
+  const clientOf = req => (trustProxy && req.headers['x-forwarded-for']
+    ? req.headers['x-forwarded-for'].split(',')[0].trim()
+    : req.socket.remoteAddress);
+
+  const stats = {
+    requests: 0,
+    cacheHits: 0,
+    coalesced: 0,
+    upstreamCalls: 0,
+    upstreamErrors: 0,
+    rateLimited: 0,
+    upstreamSocketsOpened: 0,
+    sketchUpdates: 0,
+    rejected: 0,
+    clientLimited: 0
+  };
+  // Counts new upstream sockets, to show how well the pool is reused
+  const createConnection = agent.createConnection.bind(agent);
+  agent.createConnection = (...args) => {
+    stats.upstreamSocketsOpened += 1;
+    return createConnection(...args);
+  };
+
+  const callUpstream = (payload) => new Promise((resolve, reject) => {
+    const headers = {
+      'Content-Type': 'application/json',
+      'Content-Length': payload.length,
+      'anthropic-version': '2023-06-01'
+    };
+    if (apiKey) headers['x-api-key'] = apiKey;
+
+    const req = transport.request(upstream, { method: 'POST', agent, headers, timeout: upstreamTimeoutMs }, (res) => {
+      const chunks = [];
+      res.on('data', chunk => chunks.push(chunk));
+      res.on('end', () => resolve({
+        status: res.statusCode,
+        contentType: res.headers['content-type'] || 'application/json',
+        body: Buffer.concat(chunks)
+      }));
+      res.on('error', reject);
+    });
+    req.on('timeout', () => req.destroy(Object.assign(new Error('Upstream timed out'), { status: 504 })));
+    req.on('error', reject);
+    req.end(payload);
+  });
+
+  const forward = async (payload) => {
+    await limiter.acquire();
+    stats.upstreamCalls += 1;
+    try {
+      const response = await callUpstream(payload);
+      if (response.status >= 400) stats.upstreamErrors += 1;
+      return response;
+    } catch (error) {
+      stats.upstreamErrors += 1;
+      throw Object.assign(error, { status: error.status || 502 });
+    }
+  };
+
+  // Returns { response, source } where source is HIT, COALESCED or MISS
+  const handleMessage = async (body, callType) => {
+    const upstreamBody = allowedBody(callType, JSON.parse(body));
+    const payload = Buffer.from(JSON.stringify(upstreamBody));
+    const key = requestKey(upstreamBody);
+    const cacheable = CACHEABLE_CALL_TYPES.has(callType);
+
+    if (cacheable) {
+      const cached = cache.get(key);
+      if (cached) {
+        stats.cacheHits += 1;
+        return { response: cached, source: 'HIT' };
+      }
+    }
+
+    const pending = inFlight.get(key);
+    if (pending) {
+      stats.coalesced += 1;
+      return { response: await pending, source: 'COALESCED' };
+    }
+
+    const request = forward(payload).finally(() => inFlight.delete(key));
+    inFlight.set(key, request);
+    const response = await request;
+    if (cacheable && response.status === 200) cache.set(key, response);
+    return { response, source: 'MISS' };
+  };
+
+  const mergeSketches = (updates) => {
+    if (!Array.isArray(updates) || updates.length > MAX_SKETCH_KEYS) throw badRequest('Too many sketch updates');
+    const valid = updates.every(update => update && typeof update.key === 'string'
+      && update.key.length <= MAX_KEY_LENGTH && isValidSketch(update.sketch));
+    if (!valid) throw badRequest('Invalid sketch');
+    for (const { key, sketch } of updates) {
+      if (!sketches.has(key)) {
+        if (sketches.size >= maxSketches) continue;
+        sketches.set(key, createQuantileSketch());
+      }
+      sketches.get(key).merge({ n: sketch.n, levels: sketch.levels, min: sketch.min, max: sketch.max });
+      stats.sketchUpdates += 1;
+    }
+  };
+
+  const handleSketches = async (req, res, url) => {
+    const headers = { 'Content-Type': 'application/json', ...corsHeaders };
+    try {
+      if (req.method === 'GET') {
+        const keys = (url.searchParams.get('keys') || '').split(',').filter(Boolean).slice(0, MAX_SKETCH_KEYS);
+        const found = {};
+        for (const key of keys) {
+          if (sketches.has(key)) found[key] = sketches.get(key).toJSON();
+        }
+        res.writeHead(200, headers);
+        return res.end(JSON.stringify(found));
+      }
+      const { updates } = JSON.parse(await readBody(req));
+      mergeSketches(updates);
+      res.writeHead(204, corsHeaders);
+      return res.end();
+    } catch (error) {
+      res.writeHead(error instanceof SyntaxError ? 400 : error.status || 500, headers);
+      return res.end(JSON.stringify({ error: error.message }));
+    }
+  };
+
+  const server = createServer(async (req, res) => {
+    if (req.method === 'OPTIONS') {
+      res.writeHead(204, corsHeaders);
+      return res.end();
+    }
+
+    const origin = req.headers.origin;
+    if ((origin && origin !== allowedOrigin) || !sameToken(req.headers['x-aiic-token'], token)) {
+      stats.rejected += 1;
+      res.writeHead(origin && origin !== allowedOrigin ? 403 : 401, { 'Content-Type': 'application/json', ...corsHeaders });
+      return res.end(JSON.stringify({ error: 'Not allowed' }));
+    }
+
+    // Reading sketches and stats costs nothing upstream, so only posts count
+    if (req.method === 'POST' && clientLimiter && !clientLimiter.allow(clientOf(req))) {
+      stats.clientLimited += 1;
+      res.writeHead(429, { 'Content-Type': 'application/json', 'Retry-After': '10', ...corsHeaders });
+      return res.end(JSON.stringify({ error: 'Too many requests from this client' }));
+    }
+
+    const url = new URL(req.url, 'http://gateway');
+    if ((req.method === 'GET' || req.method === 'POST') && url.pathname === '/v1/score-sketches') {
+      return handleSketches(req, res, url);
+    }
+
+    if (req.method === 'GET' && req.url === '/stats') {
+      res.writeHead(200, { 'Content-Type': 'application/json', ...corsHeaders });
+      return res.end(JSON.stringify({
+        ...stats,
+        inFlight: inFlight.size,
+        rateLimitQueue: limiter.queued,
+        cacheEntries: cache.size,
+        sketches: sketches.size,
+        cacheHitRate: stats.requests ? stats.cacheHits / stats.requests : 0
+      }));
+    }
+
+    if (req.method !== 'POST' || req.url !== '/v1/messages') {
+      res.writeHead(404, { 'Content-Type': 'application/json', ...corsHeaders });
+      return res.end(JSON.stringify({ error: 'Not found' }));
+    }
+
+    stats.requests += 1;
+    try {
+      const body = await readBody(req);
+      const { response, source } = await handleMessage(body, req.headers['x-aiic-call-type']);
+      res.writeHead(response.status, { 'Content-Type': response.contentType, 'X-Gateway-Cache': source, ...corsHeaders });
+      res.end(response.body);
+    } catch (error) {
+      if (error.status === 429) stats.rateLimited += 1;
+      const headers = { 'Content-Type': 'application/json', ...corsHeaders };
+      if (error.retryAfter) headers['Retry-After'] = String(error.retryAfter);
+      res.writeHead(error instanceof SyntaxError ? 400 : error.status || 500, headers);
+      res.end(JSON.stringify({ error: error.message }));
+    }
+  });
+
+  server.on('close', () => agent.destroy());
+  return { server, stats };
+};
+
+if (process.argv[1] && import.meta.url === pathToFileURL(process.argv[1]).href) {
+  const port = Number(process.env.PORT || 8787);
+  if (!process.env.GATEWAY_TOKEN) {
+    console.error('Set GATEWAY_TOKEN to the token the app sends (config.llmGatewayToken)');
+    process.exit(1);
+  }
+  const { server } = createGateway({
+    upstreamUrl: process.env.UPSTREAM_URL,
+    apiKey: process.env.ANTHROPIC_API_KEY || null,
+    maxSockets: Number(process.env.MAX_SOCKETS || 32),
+    ratePerSecond: Number(process.env.RATE_LIMIT_RPS || 20),
+    burst: Number(process.env.RATE_LIMIT_BURST || 40),
+    allowedOrigin: process.env.APP_ORIGIN || null,
+    token: process.env.GATEWAY_TOKEN,
+    clientRatePerMinute: Number(process.env.CLIENT_RATE_PER_MINUTE ?? 30),
+    clientBurst: Number(process.env.CLIENT_BURST || 20),
+    trustProxy: process.env.TRUST_PROXY === '1'
+  });
+  server.listen(port, () => {
+    console.log(`LLM gateway listening on http://localhost:${port}/v1/messages`);
+  });
+}
@@ -0,0 +1,124 @@
+#!/usr/bin/env node
+// Mock Messages API for exercising the gateway and load tests without
+// network access or API spend. It answers any POST /v1/messages with a
+// canned response shaped like the real API, picked from the prompt: a
+// numbered list of ten questions, answer feedback, role research or a grade
+// review. Requests that offer the web search tool take SEARCH_LATENCY_MS
+// longer, as a live search does.
+//
+//   node server/mockUpstream.mjs
+//   PORT=8788 LATENCY_MS=800 JITTER_MS=400 SEARCH_LATENCY_MS=4000 ERROR_RATE=0.02 node server/mockUpstream.mjs
+//
+// GET /stats returns request and connection counts, so keep-alive reuse by
+// the gateway can be checked.
+import { createServer } from 'node:http';
+import { pathToFileURL } from 'node:url';
+
+const questionsText = [
+  'Tell me about a project where you had to learn a new tool quickly. How did you approach it?',
+  'Describe a time you disagreed with a teammate about a technical decision. What happened?',
+  'Walk me through how you would prioritise competing requests from two stakeholders.',
+  'Tell me about a mistake you made at work and what you changed afterwards.',
+  'How do you make sure the quality of your work holds up under a tight deadline?',
+  'Describe the most complex problem you have solved in this field, step by step.',
+  'Tell me about a time you had to explain something technical to a non-expert.',
+  'How would you handle inheriting a process that is clearly not working?',
+  'Describe a time you took ownership of something outside your job description.',
+  'What would you focus on in your first 90 days in this role, and why?'
+].map((question, i) => `${i + 1}. ${question}`).join('\n');
+
+const feedbackText = `✅ STRENGTHS: Clear opening and a relevant example.
+⚠️ GAPS: The result was not quantified and your own contribution was vague.
+💡 WHAT TO SAY INSTEAD: Name the tools you used, the size of the team and a measurable outcome.
+📋 IMPROVEMENT TIPS: Use STAR and spend most of the answer on the Action and Result.`;
+
+const gradeText = 'Overall you communicated clearly. Focus next on concrete metrics and tighter structure.';
+
+const researchLine = `ROLE_REQUIREMENTS_JSON: ${JSON.stringify({
+  skills: ['Stakeholder communication', 'Structured problem solving'],
+  tools: ['Industry-standard tooling for the role'],
+  experiences: ['Owning a project end to end'],
+  talkingPoints: ['Quantified outcomes', 'Your specific contribution']
+})}`;
+
+const promptOf = body => JSON.stringify(body.messages || []);
+const usesSearch = body => (body.tools || []).some(tool => tool.type?.startsWith('web_search'));
+
+const responseTextFor = (body) => {
+  const prompt = promptOf(body);
+  if (prompt.includes('Return ONLY the 10 questions')) return questionsText;
+  if (prompt.includes('Candidate\'s Answer')) return feedbackText;
+  if (prompt.includes('ROLE_REQUIREMENTS_JSON')) return researchLine;
+  return gradeText;
+};
+
+// The Messages API response for a request body; also used by the browser
+// tests (bench/e2e/performanceBudget.mjs) as their LLM stub
+export const mockMessage = (body, id = 1) => {
+  const text = responseTextFor(body);
+  return {
+    id: `msg_mock_${id}`,
+    type: 'message',
+    role: 'assistant',
+    model: body.model || 'mock',
+    content: [{ type: 'text', text }],
+    stop_reason: 'end_turn',
+    usage: { input_tokens: Math.ceil(promptOf(body).length / 4), output_tokens: Math.ceil(text.length / 4) }
+  };
+};
+
+export const createMockUpstream = ({ latencyMs = 500, jitterMs = 250, searchLatencyMs = 4000, errorRate = 0 } = {}) => {
+  const stats = { requests: 0, connections: 0, errors: 0 };
+
+  const server = createServer((req, res) => {
+    if (req.method === 'GET' && req.url === '/stats') {
+      res.writeHead(200, { 'Content-Type': 'application/json' });
+      return res.end(JSON.stringify(stats));
+    }
+    if (req.method !== 'POST' || req.url !== '/v1/messages') {
+      res.writeHead(404);
+      return res.end();
+    }
+
+    const chunks = [];
+    req.on('data', chunk => chunks.push(chunk));
+    req.on('end', () => {
+      stats.requests += 1;
+      let body = {};
+      try {
+        body = JSON.parse(Buffer.concat(chunks).toString('utf8'));
+      } catch (error) {
+        res.writeHead(400, { 'Content-Type': 'application/json' });
+        return res.end(JSON.stringify({ type: 'error', error: { type: 'invalid_request_error', message: error.message } }));
+      }
+      const delay = latencyMs + Math.random() * jitterMs + (usesSearch(body) ? searchLatencyMs : 0);
+      setTimeout(() => {
+        if (Math.random() < errorRate) {
+          stats.errors += 1;
+          res.writeHead(529, { 'Content-Type': 'application/json' });
+          return res.end(JSON.stringify({ type: 'error', error: { type: 'overloaded_error', message: 'Overloaded' } }));
+        }
+        res.writeHead(200, { 'Content-Type': 'application/json' });
+        res.end(JSON.stringify(mockMessage(body, stats.requests)));
+      }, delay);
+    });
+  });
+
+  server.on('connection', () => {
+    stats.connections += 1;
+  });
+  return { server, stats };
+};
+
+if (process.argv[1] && import.meta.url === pathToFileURL(process.argv[1]).href) {
+  const port = Number(process.env.PORT || 8788);
+  const { server } = createMockUpstream({
+    latencyMs: Number(process.env.LATENCY_MS || 500),
+    jitterMs: Number(process.env.JITTER_MS || 250),
+    searchLatencyMs: Number(process.env.SEARCH_LATENCY_MS || 4000),
+    errorRate: Number(process.env.ERROR_RATE || 0)
+  });
+  server.listen(port, () => {
+    console.log(`Mock Messages API listening on http://localhost:${port}/v1/messages`);
+  });
+}
@@ -0,0 +1,110 @@
+#!/usr/bin/env node
+// Local telemetry collector. Accepts the batches sent by lib/telemetry.js and
+// appends one NDJSON line per event, so the pipeline can be exercised without
+// any external service.
+//
+//   node server/telemetryCollector.mjs
+//   PORT=4318 OUTPUT=telemetry.ndjson node server/telemetryCollector.mjs
+//
+// Point the app at it with window.AIIC_CONFIG = { telemetryUrl: 'http://localhost:4318/events' }.
+// GET /stats returns event counts by type, fallback rate (the share of
+// question sets served from the fallback questions) and LLM error codes for
+// everything received since the collector started.
+import { createServer } from 'node:http';
+import { createWriteStream } from 'node:fs';
+
+const PORT = Number(process.env.PORT || 4318);
+const OUTPUT = process.env.OUTPUT || 'telemetry.ndjson';
+const MAX_BODY_BYTES = 1024 * 1024;
+
+const output = createWriteStream(OUTPUT, { flags: 'a' });
+
+const stats = {
+  batches: 0,
+  events: 0,
+  droppedByClients: 0,
+  byType: {},
+  llmCalls: 0,
+  questionSets: 0,
+  fallbacks: 0,
+  questionFallbacks: 0,
+  llmErrors: {}
+};
+
+const record = (event) => {
+  stats.events += 1;
+  stats.byType[event.type] = (stats.byType[event.type] || 0) + 1;
+  if (event.type === 'llm_call') {
+    stats.llmCalls += 1;
+    if (!event.ok) {
+      const key = `${event.callType}:${event.status}`;
+      stats.llmErrors[key] = (stats.llmErrors[key] || 0) + 1;
+    }
+  }
+  if (event.type === 'question_set') stats.questionSets += 1;
+  if (event.type === 'fallback') {
+    stats.fallbacks += 1;
+    if (event.callType === 'questions') stats.questionFallbacks += 1;
+  }
+};
+
+const corsHeaders = {
+  'Access-Control-Allow-Origin': '*',
+  'Access-Control-Allow-Methods': 'POST, GET, OPTIONS',
+  'Access-Control-Allow-Headers': 'Content-Type'
+};
+
+const send = (res, status, body) => {
+  res.writeHead(status, { 'Content-Type': 'application/json', ...corsHeaders });
+  res.end(body === undefined ? '' : JSON.stringify(body));
+};
+
+const readBody = (req) => new Promise((resolve, reject) => {
+  const chunks = [];
+  let size = 0;
+  req.on('data', (chunk) => {
+    size += chunk.length;
+    if (size > MAX_BODY_BYTES) {
+      reject(Object.assign(new Error('Batch too large'), { status: 413 }));
+      req.destroy();
+      return;
+    }
+    chunks.push(chunk);
+  });
+  req.on('end', () => resolve(Buffer.concat(chunks).toString('utf8')));
+  req.on('error', reject);
+});
+
+const server = createServer(async (req, res) => {
+  if (req.method === 'OPTIONS') return send(res, 204);
+
+  if (req.method === 'GET' && req.url === '/stats') {
+    return send(res, 200, {
+      ...stats,
+      fallbackRate: stats.questionSets ? stats.questionFallbacks / stats.questionSets : 0
+    });
+  }
+
+  if (req.method !== 'POST' || req.url !== '/events') return send(res, 404, { error: 'Not found' });
+
+  try {
+    const batch = JSON.parse(await readBody(req));
+    if (!Array.isArray(batch.events)) return send(res, 400, { error: 'Missing events array' });
+
+    const receivedAt = new Date().toISOString();
+    stats.batches += 1;
+    stats.droppedByClients += batch.dropped || 0;
+    const lines = batch.events.map((event) => {
+      record(event);
+      return JSON.stringify({ ...event, sessionId: batch.sessionId, receivedAt });
+    });
+    if (lines.length > 0) output.write(lines.join('\n') + '\n');
+    send(res, 204);
+  } catch (error) {
+    send(res, error.status || 400, { error: error.message });
+  }
+});
+
+server.listen(PORT, () => {
+  console.log(`Telemetry collector listening on http://localhost:${PORT}/events, writing ${OUTPUT}`);
+});
@@ -0,0 +1,80 @@
+// Service worker for offline use. It keeps the app shell (the page, its
+// bundles and the fallback question bank chunk) in a cache so the app loads
+// and fallback questions work without a connection. Messages API calls are
+// never cached; the page queues those itself (lib/llmQueue.js), and this
+// worker only wakes it through background sync when connectivity returns.
+//
+// It must be served from the site root so its scope covers the whole app.
+const CACHE_NAME = 'aiic-shell-v1';
+const SHELL_URLS = ['./'];
+
+self.addEventListener('install', (event) => {
+  event.waitUntil(
+    caches.open(CACHE_NAME)
+      .then(cache => cache.addAll(SHELL_URLS))
+      .then(() => self.skipWaiting())
+  );
+});
+
+self.addEventListener('activate', (event) => {
+  event.waitUntil(
+    caches.keys()
+      .then(names => Promise.all(names.filter(name => name !== CACHE_NAME).map(name => caches.delete(name))))
+      .then(() => self.clients.claim())
+  );
+});
+
+const putInCache = async (request, response) => {
+  if (response.ok && response.type === 'basic') {
+    const cache = await caches.open(CACHE_NAME);
+    await cache.put(request, response);
+  }
+};
+
+// Starts the network request and keeps a copy of a good response in the
+// cache. The cache write is registered with the event straight away, since
+// waitUntil can't be called once the response has been handed back.
+const fetchAndCache = (event) => {
+  const network = fetch(event.request);
+  event.waitUntil(
+    network.then(response => putInCache(event.request, response.clone())).catch(() => {})
+  );
+  return network;
+};
+
+// Pages: network first so deploys show up, cached shell when offline
+const handleNavigation = async (event) => {
+  try {
+    return await fetchAndCache(event);
+  } catch (error) {
+    return (await caches.match(event.request)) || (await caches.match('./')) || Response.error();
+  }
+};
+
+// Bundles and data: hashed file names never change content, so serve from
+// cache and refresh in the background
+const handleAsset = async (event) => {
+  const network = fetchAndCache(event);
+  const cached = await caches.match(event.request);
+  if (cached) {
+    network.catch(() => {});
+    return cached;
+  }
+  return network;
+};
+
+self.addEventListener('fetch', (event) => {
+  const { request } = event;
+  if (request.method !== 'GET' || new URL(request.url).origin !== self.location.origin) return;
+  event.respondWith(request.mode === 'navigate' ? handleNavigation(event) : handleAsset(event));
+});
+
+// Background sync registered by the request queue: let open pages replay it
+self.addEventListener('sync', (event) => {
+  if (event.tag === 'llm-queue') {
+    event.waitUntil(
+      self.clients.matchAll({ type: 'window' })
+        .then(clients => clients.forEach(client => client.postMessage({ type: 'drain-llm-queue' })))
+    );
+  }
+});
@@ -0,0 +1,84 @@
+#!/usr/bin/env node
+// Bundle-size and time-to-first-render report for a production build.
+//
+//   node tools/bundleReport.mjs [buildDir] [--timing timing.json] [--json]
+//
+// buildDir defaults to ./dist. Chunks are grouped into the initial download
+// (entry and shared code), lazily loaded screens, and lazily loaded data such
+// as the fallback question bank. --timing takes a JSON file saved from
+// window.__startupTiming, for example via copy(window.__startupTiming) in the
+// devtools console after a cold load.
+import { readdirSync, readFileSync, statSync } from 'node:fs';
+import { join, relative } from 'node:path';
+import { gzipSync } from 'node:zlib';
+
+const args = process.argv.slice(2);
+const flag = (name) => {
+  const index = args.indexOf(name);
+  if (index === -1) return null;
+  const value = args[index + 1];
+  args.splice(index, 2);
+  return value;
+};
+const asJson = args.includes('--json');
+if (asJson) args.splice(args.indexOf('--json'), 1);
+const timingFile = flag('--timing');
+const buildDir = args[0] || 'dist';
+
+const walk = (dir) => readdirSync(dir).flatMap((name) => {
+  const path = join(dir, name);
+  return statSync(path).isDirectory() ? walk(path) : [path];
+});
+
+const classify = (file) => {
+  if (/Screen/.test(file)) return 'screen';
+  if (/interviewQuestionsFallback|\.json$/.test(file)) return 'data';
+  return 'initial';
+};
+
+let files;
+try {
+  files = walk(buildDir).filter(file => /\.(js|mjs|css|json)$/.test(file));
+} catch (error) {
+  console.error(`Cannot read build output in ${buildDir}: ${error.message}`);
+  process.exit(1);
+}
+
+const chunks = files.map((file) => {
+  const contents = readFileSync(file);
+  return {
+    file: relative(buildDir, file),
+    group: classify(file),
+    bytes: contents.length,
+    gzipBytes: gzipSync(contents).length
+  };
+}).sort((a, b) => b.gzipBytes - a.gzipBytes);
+
+const totals = {};
+chunks.forEach(({ group, bytes, gzipBytes }) => {
+  const total = totals[group] || (totals[group] = { chunks: 0, bytes: 0, gzipBytes: 0 });
+  total.chunks += 1;
+  total.bytes += bytes;
+  total.gzipBytes += gzipBytes;
+});
+
+const timing = timingFile ? JSON.parse(readFileSync(timingFile, 'utf8')) : null;
+const report = { buildDir, totals, chunks, timing };
+
+if (asJson) {
+  console.log(JSON.stringify(report, null, 2));
+} else {
+  const kb = (bytes) => `${(bytes / 1024).toFixed(1)} KB`;
+  console.log(`Bundle report for ${buildDir}\n`);
+  chunks.forEach(({ file, group, bytes, gzipBytes }) => {
+    console.log(`  ${group.padEnd(8)} ${kb(bytes).padStart(10)} ${kb(gzipBytes).padStart(10)} gz  ${file}`);
+  });
+  console.log('');
+  Object.entries(totals).forEach(([group, total]) => {
+    console.log(`  ${group.padEnd(8)} ${total.chunks} chunk(s), ${kb(total.bytes)} (${kb(total.gzipBytes)} gz)`);
+  });
+  if (timing) {
+    console.log('\nStartup timing (ms since navigation start)');
+    Object.entries(timing).forEach(([name, ms]) => console.log(`  ${name.padEnd(14)} ${ms}`));
+  }
+}
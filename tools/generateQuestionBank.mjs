@@ -0,0 +1,155 @@
+#!/usr/bin/env node
+// Offline batch job that pre-generates interview questions for common roles.
+//
+//   ANTHROPIC_API_KEY=... node tools/generateQuestionBank.mjs
+//   LLM_URL=http://localhost:8787/v1/messages GATEWAY_TOKEN=... node tools/generateQuestionBank.mjs   (through the gateway)
+//
+// Through the gateway, GATEWAY_TOKEN is the token it was started with, and
+// the gateway needs CLIENT_RATE_PER_MINUTE=0 or it turns the job away.
+//
+// For every role in data/commonRoles.json (ROLES_FILE) it generates the ten
+// questions for each jobLevel x difficulty, using the same request the app
+// sends, and writes one shard per role to data/questionBank/shards/<slug>.json.
+// data/questionBank/index.json then maps every normalized role name and
+// alias to its shard, and lib/roleQuestionBank.js serves from it.
+//
+// The job resumes where it stopped: roles whose shard is complete are
+// skipped unless FORCE=1. Shards marked "sample" (hand-written, shipped so the
+// bank works before the job has been run) are always regenerated.
+// CONCURRENCY (default 4) limits parallel API calls.
+import { readFileSync, writeFileSync, renameSync, readdirSync, mkdirSync, existsSync } from 'node:fs';
+import { join } from 'node:path';
+import { buildQuestionsRequest, responseText, parseQuestions } from '../lib/llmRequests.js';
+import { normalizeRole, roleSlug } from '../lib/roleNames.js';
+
+const LLM_URL = process.env.LLM_URL || 'https://api.anthropic.com/v1/messages';
+const API_KEY = process.env.ANTHROPIC_API_KEY || null;
+const GATEWAY_TOKEN = process.env.GATEWAY_TOKEN || null;
+const ROLES_FILE = process.env.ROLES_FILE || 'data/commonRoles.json';
+const OUT_DIR = process.env.OUT_DIR || 'data/questionBank';
+const CONCURRENCY = Number(process.env.CONCURRENCY || 4);
+const FORCE = process.env.FORCE === '1';
+const MAX_ATTEMPTS = 4;
+const QUESTIONS_PER_SET = 10;
+
+const LEVELS = ['entry', 'mid', 'senior'];
+const DIFFICULTIES = ['easy', 'medium', 'hard'];
+
+const shardDir = join(OUT_DIR, 'shards');
+const sleep = ms => new Promise(resolve => setTimeout(resolve, ms));
+
+const writeJson = (path, value) => {
+  // Write then rename, so an interrupted run never leaves a torn file
+  writeFileSync(`${path}.tmp`, JSON.stringify(value) + '\n');
+  renameSync(`${path}.tmp`, path);
+};
+
+const readJson = (path) => {
+  try {
+    return JSON.parse(readFileSync(path, 'utf8'));
+  } catch (error) {
+    return null;
+  }
+};
+
+const isComplete = shard => Boolean(shard) && LEVELS.every(level =>
+  DIFFICULTIES.every(difficulty => shard.sets?.[level]?.[difficulty]?.length === QUESTIONS_PER_SET));
+
+const generateSet = async (role, level, difficulty) => {
+  const headers = { 'Content-Type': 'application/json', 'X-AIIC-Call-Type': 'questions', 'anthropic-version': '2023-06-01' };
+  if (API_KEY) headers['x-api-key'] = API_KEY;
+  if (GATEWAY_TOKEN) headers['X-AIIC-Token'] = GATEWAY_TOKEN;
+
+  for (let attempt = 1; ; attempt++) {
+    try {
+      const response = await fetch(LLM_URL, {
+        method: 'POST',
+        headers,
+        body: JSON.stringify(buildQuestionsRequest(role, level, difficulty))
+      });
+      if (!response.ok) throw new Error(`API request failed: ${response.status}`);
+      const questions = [...new Set(parseQuestions(responseText(await response.json())))];
+      if (questions.length < QUESTIONS_PER_SET) throw new Error(`Only ${questions.length} questions parsed`);
+      return questions.slice(0, QUESTIONS_PER_SET);
+    } catch (error) {
+      if (attempt >= MAX_ATTEMPTS) throw error;
+      console.warn(`  ${role} ${level}/${difficulty}: ${error.message}, retrying`);
+      await sleep(1000 * 2 ** attempt);
+    }
+  }
+};
+
+const generateRole = async ({ name, aliases = [] }) => {
+  const slug = roleSlug(name);
+  const path = join(shardDir, `${slug}.json`);
+  const found = readJson(path);
+  const existing = found?.sample ? null : found;
+  if (!FORCE && isComplete(existing)) return 'skipped';
+
+  const sets = {};
+  for (const level of LEVELS) {
+    sets[level] = {};
+    for (const difficulty of DIFFICULTIES) {
+      // Keep sets from an earlier partial run
+      const previous = !FORCE && existing?.sets?.[level]?.[difficulty];
+      sets[level][difficulty] = previous?.length === QUESTIONS_PER_SET
+        ? previous
+        : await generateSet(name, level, difficulty);
+    }
+  }
+  writeJson(path, { role: name, aliases, generatedAt: new Date().toISOString(), sets });
+  return 'generated';
+};
+
+// Rebuilt from the shards on disk, so it always matches what was shipped
+const buildIndex = () => {
+  const roles = {};
+  const samples = [];
+  for (const file of readdirSync(shardDir).filter(name => name.endsWith('.json')).sort()) {
+    const shard = readJson(join(shardDir, file));
+    if (!isComplete(shard)) continue;
+    const slug = file.slice(0, -'.json'.length);
+    if (shard.sample) samples.push(slug);
+    for (const name of [shard.role, ...(shard.aliases || [])]) {
+      const key = normalizeRole(name);
+      if (roles[key] && roles[key] !== slug) {
+        console.warn(`  "${name}" is claimed by both ${roles[key]} and ${slug}; keeping ${roles[key]}`);
+        continue;
+      }
+      roles[key] = slug;
+    }
+  }
+  return { version: 1, generatedAt: new Date().toISOString(), ...(samples.length ? { samples } : {}), roles };
+};
+
+const main = async () => {
+  const { roles } = JSON.parse(readFileSync(ROLES_FILE, 'utf8'));
+  if (!existsSync(shardDir)) mkdirSync(shardDir, { recursive: true });
+  console.log(`Generating ${roles.length} roles x ${LEVELS.length * DIFFICULTIES.length} sets via ${LLM_URL}`);
+
+  const results = { generated: 0, skipped: 0, failed: 0 };
+  let next = 0;
+  await Promise.all(Array.from({ length: Math.min(CONCURRENCY, roles.length) }, async () => {
+    while (next < roles.length) {
+      const role = roles[next++];
+      try {
+        const result = await generateRole(role);
+        results[result] += 1;
+        console.log(`  ${role.name}: ${result}`);
+      } catch (error) {
+        results.failed += 1;
+        console.error(`  ${role.name}: failed (${error.message})`);
+      }
+    }
+  }));
+
+  const index = buildIndex();
+  writeJson(join(OUT_DIR, 'index.json'), index);
+  console.log(`Done: ${JSON.stringify(results)}, ${Object.keys(index.roles).length} names indexed`);
+  if (results.failed > 0) process.exitCode = 1;
+};
+
+main().catch((error) => {
+  console.error(error);
+  process.exit(1);
+});
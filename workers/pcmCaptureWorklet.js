@@ -0,0 +1,51 @@
+// AudioWorklet that turns microphone input into mono 16 kHz Float32 chunks of
+// about 100 ms and posts them to the main thread (transferred, not copied).
+// The AudioContext is normally created at 16 kHz already; otherwise the input
+// is resampled here by linear interpolation.
+const TARGET_RATE = 16000;
+const CHUNK_SAMPLES = TARGET_RATE / 10;
+
+class PcmCaptureProcessor extends AudioWorkletProcessor {
+  constructor() {
+    super();
+    this.ratio = sampleRate / TARGET_RATE;
+    this.position = 0;
+    this.previous = 0;
+    this.chunk = new Float32Array(CHUNK_SAMPLES);
+    this.length = 0;
+  }
+
+  push(sample) {
+    this.chunk[this.length++] = sample;
+    if (this.length === CHUNK_SAMPLES) {
+      this.port.postMessage(this.chunk, [this.chunk.buffer]);
+      this.chunk = new Float32Array(CHUNK_SAMPLES);
+      this.length = 0;
+    }
+  }
+
+  process(inputs) {
+    const channel = inputs[0] && inputs[0][0];
+    if (!channel) return true;
+
+    if (this.ratio === 1) {
+      for (let i = 0; i < channel.length; i++) this.push(channel[i]);
+      return true;
+    }
+
+    // position may fall between the previous block's last sample and this
+    // block's first one (index -1)
+    while (this.position < channel.length - 1) {
+      const index = Math.floor(this.position);
+      const fraction = this.position - index;
+      const from = index < 0 ? this.previous : channel[index];
+      this.push(from + (channel[index + 1] - from) * fraction);
+      this.position += this.ratio;
+    }
+    this.position -= channel.length;
+    this.previous = channel[channel.length - 1];
+    return true;
+  }
+}
+
+registerProcessor('pcm-capture', PcmCaptureProcessor);
@@ -0,0 +1,246 @@
+// On-device speech-to-text worker built on whisper.cpp compiled to WASM
+// (the examples/whisper.wasm build: a main.js glue script plus a ggml model
+// such as ggml-base.en.bin). Everything runs on the CPU inside this worker.
+// The main thread only forwards audio and receives text. That build uses
+// pthreads, so it needs SharedArrayBuffer and a cross-origin isolated page
+// (COOP/COEP headers); init fails otherwise and the app uses Web Speech.
+//
+// Protocol
+//   in:  { type: 'init', scriptUrl, modelUrl, threads }
+//        { type: 'audio', samples }   mono 16 kHz Float32Array chunk
+//        { type: 'flush' }            finalize whatever audio is pending
+//        { type: 'reset' }            drop pending audio
+//   out: { type: 'ready' } | { type: 'partial', text } | { type: 'final', text }
+//        { type: 'flushed' }              after every flush, even a failed one
+//        { type: 'stats', audioMs, processingMs } | { type: 'dropped', audioMs }
+//        { type: 'error', message }
+//
+// Audio accumulates in a fixed window. Every second of new audio the window
+// is transcribed again for a partial result. It is finalized and cleared after
+// a pause or when the window fills, so memory and per-pass cost stay bounded
+// however long the answer runs.
+//
+// Audio that arrives during a run is merged into one chunk, and partial runs
+// are skipped while more audio waits. On a device slower than real time the
+// oldest waiting audio past MAX_BACKLOG_SAMPLES is dropped, so the worker
+// falls behind by a bounded amount instead of queueing without limit.
+const SAMPLE_RATE = 16000;
+const STEP_SAMPLES = SAMPLE_RATE;
+const MAX_WINDOW_SAMPLES = SAMPLE_RATE * 10;
+const SILENCE_SAMPLES = Math.round(SAMPLE_RATE * 0.6);
+const MIN_FINAL_SAMPLES = Math.round(SAMPLE_RATE * 0.3);
+const SILENCE_RMS = 0.01;
+const MAX_BACKLOG_SAMPLES = SAMPLE_RATE * 30;
+// A run that hasn't reported back by then is treated as failed
+const RUN_TIMEOUT_MS = 30000;
+
+const pending = new Float32Array(MAX_WINDOW_SAMPLES);
+let pendingLength = 0;
+let samplesSinceRun = 0;
+let silentSamples = 0;
+let heardSpeech = false;
+let engine = null;
+
+// Loads the whisper.cpp glue script and model and wraps them as
+// { transcribe(samples) -> Promise<text> }. full_default only starts
+// whisper_full on a thread of its own and returns at once. Segments arrive
+// through Module.print as "[00:00:00.000 --> 00:00:02.000]  text" lines, and
+// the run is over when whisper_print_timings writes its total to printErr.
+const loadEngine = ({ scriptUrl, modelUrl, threads }) => new Promise((resolve, reject) => {
+  if (!self.crossOriginIsolated) {
+    reject(new Error('Local speech needs a cross-origin isolated page'));
+    return;
+  }
+  const printed = [];
+  let onRunDone = null;
+  self.Module = {
+    print: line => printed.push(line),
+    printErr: (line) => {
+      if (onRunDone && /total time/.test(line)) onRunDone();
+    },
+    onRuntimeInitialized: async () => {
+      try {
+        const response = await fetch(modelUrl);
+        if (!response.ok) throw new Error(`Model download failed: ${response.status}`);
+        const model = new Uint8Array(await response.arrayBuffer());
+        self.Module.FS_createDataFile('/', 'whisper.bin', model, true, true);
+        const instance = self.Module.init('whisper.bin');
+        if (!instance) throw new Error('whisper.cpp failed to load the model');
+
+        resolve({
+          transcribe: samples => new Promise((resolveRun, rejectRun) => {
+            printed.length = 0;
+            const timer = setTimeout(() => {
+              onRunDone = null;
+              rejectRun(new Error('Local transcription timed out'));
+            }, RUN_TIMEOUT_MS);
+            onRunDone = () => {
+              onRunDone = null;
+              clearTimeout(timer);
+              // Only segment lines; the glue prints other status to stdout too
+              resolveRun(printed
+                .filter(line => /^\[\d/.test(line))
+                .map(line => line.replace(/^\[[^\]]*\]\s*/, '').trim())
+                .filter(Boolean)
+                .join(' '));
+            };
+            // The audio is copied before the run starts, so pending can be reused
+            const status = self.Module.full_default(instance, samples, 'en', threads, false);
+            if (status !== 0) {
+              onRunDone = null;
+              clearTimeout(timer);
+              rejectRun(new Error(`whisper.cpp failed to start (${status})`));
+            }
+          })
+        });
+      } catch (error) {
+        reject(error);
+      }
+    }
+  };
+  try {
+    importScripts(scriptUrl);
+  } catch (error) {
+    reject(error);
+  }
+});
+
+const rms = (samples) => {
+  let sum = 0;
+  for (let i = 0; i < samples.length; i++) sum += samples[i] * samples[i];
+  return Math.sqrt(sum / samples.length);
+};
+
+const transcribePending = async () => {
+  const audio = pending.subarray(0, pendingLength);
+  const start = performance.now();
+  const text = await engine.transcribe(audio);
+  self.postMessage({
+    type: 'stats',
+    audioMs: (pendingLength / SAMPLE_RATE) * 1000,
+    processingMs: performance.now() - start
+  });
+  return text;
+};
+
+const resetWindow = () => {
+  pendingLength = 0;
+  samplesSinceRun = 0;
+  silentSamples = 0;
+  heardSpeech = false;
+};
+
+const finalize = async () => {
+  try {
+    if (heardSpeech && pendingLength >= MIN_FINAL_SAMPLES) {
+      const text = await transcribePending();
+      if (text) self.postMessage({ type: 'final', text });
+    }
+  } finally {
+    resetWindow();
+  }
+};
+
+const appendAudio = async (samples) => {
+  if (rms(samples) < SILENCE_RMS) {
+    silentSamples += samples.length;
+  } else {
+    silentSamples = 0;
+    heardSpeech = true;
+  }
+
+  // Leading silence is never buffered
+  if (!heardSpeech) return;
+
+  const room = MAX_WINDOW_SAMPLES - pendingLength;
+  pending.set(samples.subarray(0, room), pendingLength);
+  pendingLength += Math.min(room, samples.length);
+  samplesSinceRun += samples.length;
+
+  if (pendingLength === MAX_WINDOW_SAMPLES || silentSamples >= SILENCE_SAMPLES) {
+    await finalize();
+    if (room < samples.length) await appendAudio(samples.subarray(room));
+    return;
+  }
+
+  if (samplesSinceRun >= STEP_SAMPLES && !audioWaiting()) {
+    samplesSinceRun = 0;
+    const text = await transcribePending();
+    if (text) self.postMessage({ type: 'partial', text });
+  }
+};
+
+const handleMessage = async (data) => {
+  try {
+    if (data.type === 'init') {
+      if (!engine) engine = await loadEngine(data);
+      self.postMessage({ type: 'ready' });
+    } else if (!engine) {
+      throw new Error('Local speech engine is not initialized');
+    } else if (data.type === 'audio') {
+      await appendAudio(concat(data.chunks, data.length));
+    } else if (data.type === 'flush') {
+      await finalize();
+    } else if (data.type === 'reset') {
+      resetWindow();
+    }
+  } catch (error) {
+    self.postMessage({ type: 'error', message: error.message });
+  } finally {
+    // The main thread waits for this, so it is sent whatever happened
+    if (data.type === 'flush') self.postMessage({ type: 'flushed' });
+  }
+};
+
+const concat = (chunks, length) => {
+  if (chunks.length === 1) return chunks[0];
+  const samples = new Float32Array(length);
+  let offset = 0;
+  for (const chunk of chunks) {
+    samples.set(chunk, offset);
+    offset += chunk.length;
+  }
+  return samples;
+};
+
+// Transcription is asynchronous, so messages are handled one at a time in
+// arrival order: audio can't change the window while a run reads it, and a
+// flush waits for the runs before it. Consecutive audio messages share one
+// inbox entry.
+const inbox = [];
+let draining = false;
+
+const audioWaiting = () => inbox.some(message => message.type === 'audio');
+
+const enqueue = (data) => {
+  const last = inbox[inbox.length - 1];
+  if (data.type !== 'audio') {
+    inbox.push(data);
+    return;
+  }
+  if (last?.type !== 'audio') {
+    inbox.push({ type: 'audio', chunks: [data.samples], length: data.samples.length });
+    return;
+  }
+  last.chunks.push(data.samples);
+  last.length += data.samples.length;
+  let dropped = 0;
+  while (last.length > MAX_BACKLOG_SAMPLES && last.chunks.length > 1) {
+    const chunk = last.chunks.shift();
+    last.length -= chunk.length;
+    dropped += chunk.length;
+  }
+  if (dropped) self.postMessage({ type: 'dropped', audioMs: (dropped / SAMPLE_RATE) * 1000 });
+};
+
+const drain = async () => {
+  if (draining) return;
+  draining = true;
+  while (inbox.length > 0) await handleMessage(inbox.shift());
+  draining = false;
+};
+
+self.onmessage = ({ data }) => {
+  enqueue(data);
+  drain();
+};